@@ -0,0 +1,63 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-scenario cost on large synthetic scenarios: compiling the .txt (uncached) and running the compiled plan
+ * through Engine.executePlan - per-step timing, command counting and wait engine included - on a no-op driver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dmetrics.maxStepRecords=0")
+@State(Scope.Thread)
+public class EngineLoopBenchmark {
+    static final int OBJECTS = 500;
+
+    @Param({"10000", "50000"})
+    public int steps;
+
+    private byte[] pageObjects;
+    private byte[] scenario;
+    private Object plan;
+    private Object lib;
+
+    @Setup
+    public void setUp() throws Throwable {
+        pageObjects = SyntheticScenarios.pageObjects(OBJECTS);
+        scenario = SyntheticScenarios.scenario(SyntheticScenarios.steps(steps, OBJECTS));
+        plan = EngineHandles.parse("synthetic.txt", pageObjects, scenario);
+        lib = EngineHandles.newActionLibrary(new NoOpDriver());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetMetrics() throws Throwable {
+        EngineHandles.resetMetrics();
+    }
+
+    @Benchmark
+    public Object compile() throws Throwable {
+        return EngineHandles.parse("synthetic.txt", pageObjects, scenario);
+    }
+
+    @Benchmark
+    public Object executePlan() throws Throwable {
+        Object result = EngineHandles.newScenarioResult("synthetic.json", "synthetic.txt", "WEB");
+        EngineHandles.executePlan(lib, plan, result);
+        return result;
+    }
+}
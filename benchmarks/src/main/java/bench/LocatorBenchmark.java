@@ -0,0 +1,39 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/** ActionLibrary.getLocator for every prefix the page-object files use. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocatorBenchmark {
+
+    @Param({
+            "id=loginOtpTriggerBtn",
+            "name=q",
+            "xpath=//input[@name='o1']",
+            "accessId=Profile",
+            "(//*[contains(text(),'seamless')])[1]/following::input[1]"
+    })
+    public String raw;
+
+    @Benchmark
+    public By getLocator() throws Throwable {
+        return EngineHandles.getLocator(raw);
+    }
+}
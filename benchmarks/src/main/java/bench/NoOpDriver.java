@@ -0,0 +1,74 @@
+package bench;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.logging.Logs;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebDriver that answers every command instantly: every element exists, is visible and enabled.
+ * Lets the benchmarks measure the engine's own overhead without a browser or Appium server.
+ */
+public class NoOpDriver implements WebDriver {
+    private static final WebElement ELEMENT = new NoOpElement();
+    private final Options options = new NoOpOptions();
+
+    @Override public void get(String url) {}
+    @Override public String getCurrentUrl() { return "about:blank"; }
+    @Override public String getTitle() { return ""; }
+    @Override public List<WebElement> findElements(By by) { return List.of(ELEMENT); }
+    @Override public WebElement findElement(By by) { return ELEMENT; }
+    @Override public String getPageSource() { return "<hierarchy/>"; }
+    @Override public void close() {}
+    @Override public void quit() {}
+    @Override public Set<String> getWindowHandles() { return Set.of("main"); }
+    @Override public String getWindowHandle() { return "main"; }
+    @Override public TargetLocator switchTo() { throw new UnsupportedOperationException(); }
+    @Override public Navigation navigate() { throw new UnsupportedOperationException(); }
+    @Override public Options manage() { return options; }
+
+    private static class NoOpElement implements WebElement {
+        @Override public void click() {}
+        @Override public void submit() {}
+        @Override public void sendKeys(CharSequence... keysToSend) {}
+        @Override public void clear() {}
+        @Override public String getTagName() { return "div"; }
+        @Override public String getAttribute(String name) { return null; }
+        @Override public boolean isSelected() { return false; }
+        @Override public boolean isEnabled() { return true; }
+        @Override public String getText() { return ""; }
+        @Override public List<WebElement> findElements(By by) { return List.of(this); }
+        @Override public WebElement findElement(By by) { return this; }
+        @Override public boolean isDisplayed() { return true; }
+        @Override public Point getLocation() { return new Point(0, 0); }
+        @Override public Dimension getSize() { return new Dimension(1, 1); }
+        @Override public Rectangle getRect() { return new Rectangle(0, 0, 1, 1); }
+        @Override public String getCssValue(String propertyName) { return ""; }
+        @Override public <X> X getScreenshotAs(OutputType<X> target) { throw new UnsupportedOperationException(); }
+    }
+
+    private static class NoOpOptions implements Options, Timeouts {
+        @Override public void addCookie(Cookie cookie) {}
+        @Override public void deleteCookieNamed(String name) {}
+        @Override public void deleteCookie(Cookie cookie) {}
+        @Override public void deleteAllCookies() {}
+        @Override public Set<Cookie> getCookies() { return Collections.emptySet(); }
+        @Override public Cookie getCookieNamed(String name) { return null; }
+        @Override public Timeouts timeouts() { return this; }
+        @Override public Window window() { throw new UnsupportedOperationException(); }
+        @Override public Logs logs() { throw new UnsupportedOperationException(); }
+        @Override public Timeouts implicitlyWait(long time, TimeUnit unit) { return this; }
+        @Override public Timeouts setScriptTimeout(long time, TimeUnit unit) { return this; }
+        @Override public Timeouts pageLoadTimeout(long time, TimeUnit unit) { return this; }
+    }
+}
@@ -0,0 +1,58 @@
+package bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page-object loading through ObjectMapper.readTree: the shipped ios_beauty_flow.json and synthetic files,
+ * with a shared mapper and with a mapper created per load (what Engine used to do per scenario).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageObjectLoadBenchmark {
+
+    @Param({"ios_beauty_flow.json", "synthetic:100", "synthetic:5000"})
+    public String source;
+
+    private final ObjectMapper sharedMapper = new ObjectMapper();
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        if (source.startsWith("synthetic:")) {
+            json = SyntheticScenarios.pageObjects(Integer.parseInt(source.substring(10)));
+        } else {
+            try (InputStream is = PageObjectLoadBenchmark.class.getClassLoader().getResourceAsStream(source)) {
+                json = is.readAllBytes();
+            }
+        }
+    }
+
+    @Benchmark
+    public JsonNode sharedMapper() throws Exception {
+        return sharedMapper.readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode mapperPerLoad() throws Exception {
+        return new ObjectMapper().readTree(json);
+    }
+}
@@ -0,0 +1,68 @@
+package bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-line cost of the three ways a step can run:
+ * parse only (ScenarioCompiler.compileStep), parse + dispatch (legacy Engine.executeStep) and dispatch of an
+ * already-compiled step against a no-op driver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StepDispatchBenchmark {
+    static final int LINES = 600;
+    static final int OBJECTS = 100;
+
+    private JsonNode pageObjects;
+    private String[] lines;
+    private List<Object> compiled;
+    private Object lib;
+
+    @Setup
+    public void setUp() throws Throwable {
+        pageObjects = new ObjectMapper().readTree(SyntheticScenarios.pageObjects(OBJECTS));
+        lines = SyntheticScenarios.steps(LINES, OBJECTS);
+        compiled = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) compiled.add(EngineHandles.compileStep(lines[i], i + 1, pageObjects));
+        lib = EngineHandles.newActionLibrary(new NoOpDriver());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void parseOnly(Blackhole bh) throws Throwable {
+        for (int i = 0; i < lines.length; i++) bh.consume(EngineHandles.compileStep(lines[i], i + 1, pageObjects));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void parseAndDispatch() throws Throwable {
+        for (String line : lines) EngineHandles.executeStep(lib, pageObjects, line);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void dispatchCompiled() throws Throwable {
+        for (Object step : compiled) EngineHandles.execute(step, lib);
+    }
+}
@@ -0,0 +1,45 @@
+package bench;
+
+import java.nio.charset.StandardCharsets;
+
+/** Builds large page-object/scenario pairs in the same format as src/main/resources. */
+final class SyntheticScenarios {
+    private SyntheticScenarios() {}
+
+    static byte[] pageObjects(int objects) {
+        StringBuilder json = new StringBuilder("{\n");
+        for (int i = 0; i < objects; i++) {
+            String locator;
+            switch (i % 4) {
+                case 0: locator = "id=element" + i; break;
+                case 1: locator = "name=field" + i; break;
+                case 2: locator = "accessId=Button " + i; break;
+                default: locator = "xpath=//XCUIElementTypeButton[@name=\\\"Item " + i + "\\\"]";
+            }
+            json.append("  \"Object_").append(i).append("\": \"").append(locator).append('"');
+            json.append(i + 1 < objects ? ",\n" : "\n");
+        }
+        return json.append("}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Cycles through every command the engine understands; waits are zero-length so nothing sleeps. */
+    static String[] steps(int count, int objects) {
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            String key = "Object_" + (i % objects);
+            switch (i % 6) {
+                case 0: lines[i] = "Tap on " + key; break;
+                case 1: lines[i] = "Type value" + i + " in " + key; break;
+                case 2: lines[i] = "Verify " + key + " is visible"; break;
+                case 3: lines[i] = "Wait for 0 seconds"; break;
+                case 4: lines[i] = "Click on " + key; break;
+                default: lines[i] = "Navigate to https://example.test/page/" + i;
+            }
+        }
+        return lines;
+    }
+
+    static byte[] scenario(String[] steps) {
+        return String.join("\n", steps).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Builds an AppCDS archive (target/engine.jsa) for the engine's classpath so JVM start-up maps pre-parsed
+# Selenium/Appium/Jackson classes instead of loading them from jars. The archive is only valid for the JDK and
+# classpath it was built with; rebuild after a dependency or JDK change. Needs JDK 13+ (dynamic archives).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+mvn -B -q package -DskipTests dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+# CDS only archives classes from jars, so the engine runs from the packaged jar rather than target/classes
+CP="target/daily-bot-1.0-SNAPSHOT.jar:$(cat target/classpath.txt)"
+
+echo "🔥 Training run (no devices needed)..."
+java -XX:ArchiveClassesAtExit=target/engine.jsa -cp "$CP" Engine --warmup
+echo "📦 AppCDS archive: target/engine.jsa ($(du -h target/engine.jsa | cut -f1))"
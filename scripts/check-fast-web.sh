@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Runs the fast web profile against locally served test pages (test-pages/): the scenario passes only if the
+# page renders while its image and its "third-party" script are blocked.
+#   scripts/check-fast-web.sh [WEB|MWEB]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=8765
+python3 -m http.server "$PORT" --bind 127.0.0.1 --directory test-pages >/dev/null 2>&1 &
+SERVER=$!
+trap 'kill "$SERVER"' EXIT
+sleep 1
+
+JAVA_OPTS="${JAVA_OPTS:-} -Dweb.fast=true -Dweb.fast.blockUrls=*tracker.js* -Drecording.mode=off -Dresults.dir=target/fast-web-check" \
+  scripts/engine.sh --scenario "fast_web_check.json,fast_web_check.txt,${1:-WEB}"
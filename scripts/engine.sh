@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Runs Engine from the packaged jar (no mvn exec), using the AppCDS archive when scripts/build-cds.sh
+# has produced one. All arguments are passed through, e.g.:
+#   scripts/engine.sh --shard 1/3
+#   scripts/engine.sh --daemon 7070
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+if [ ! -f target/classpath.txt ] || [ ! -f target/daily-bot-1.0-SNAPSHOT.jar ]; then
+  mvn -B -q package -DskipTests dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+fi
+# CDS only archives classes from jars, so the engine runs from the packaged jar rather than target/classes
+CP="target/daily-bot-1.0-SNAPSHOT.jar:$(cat target/classpath.txt)"
+
+CDS=()
+if [ -f target/engine.jsa ]; then
+  # auto: silently falls back to normal class loading if the archive does not match this JDK/classpath
+  CDS=(-XX:SharedArchiveFile=target/engine.jsa -Xshare:auto)
+fi
+
+exec java ${CDS[@]+"${CDS[@]}"} ${JAVA_OPTS:-} -cp "$CP" Engine "$@"
@@ -1,13 +1,18 @@
 import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 // Appium Imports
 import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.ios.options.XCUITestOptions;
 import io.appium.java_client.android.AndroidDriver;
@@ -24,53 +29,84 @@ import static org.monte.media.VideoFormatKeys.*;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
 import java.io.File;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
-import java.util.Base64;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ActionLibrary {
     public WebDriver driver;
-    private WebDriverWait wait;
-    private Properties configProps;
+    // Same session as "driver", wrapped so every WebDriver round trip is counted; actions go through this one
+    private WebDriver tracked;
+    private final AtomicLong commandCount = new AtomicLong();
+    private WaitEngine wait;
+    // Snapshot mode ("snapshot.mode=true", native apps only): consecutive Verify steps share one page-source fetch
+    private final boolean snapshotMode = EngineConfig.getBoolean("snapshot.mode", false);
+    private PageSnapshot snapshot;
+    private long snapshotHits;
     private ScreenRecorder screenRecorder;
+    // "recording.mode": full (video of every scenario), failures (screenshot ring buffer kept only on failure), off
+    private final String recordingMode = EngineConfig.get("recording.mode", "full").toLowerCase();
+    private FailureReplay replay;
+    // Fast web profile ("web.fast=true", WEB/MWEB only): headless, eager page loads, disk cache, blocked resources
+    private final boolean fastWeb = EngineConfig.getBoolean("web.fast", false);
+    private boolean headless;
+    // Disk cache slot ("web-0", "mweb-1", ...) this scenario's browser holds until quit()
+    private String cacheSlot;
+    // Chrome cannot share a disk cache between running browsers, so each concurrent one gets its own slot
+    private static final Set<String> CACHE_SLOTS = new HashSet<>();
+    private final SessionPool sessionPool;
+    // Set when several WEB/MWEB scenarios can be on screen at once; Monte captures the whole desktop, so a
+    // per-scenario desktop video would show the other browsers too and is skipped
+    static volatile boolean sharedDesktop;
+
+    // CDP Network.setBlockedURLs matches URL patterns, not resource types, so types map to file extensions
+    private static final Map<String, List<String>> BLOCKED_EXTENSIONS = Map.of(
+            "image", List.of("png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico"),
+            "font", List.of("woff", "woff2", "ttf", "otf", "eot"),
+            "media", List.of("mp4", "webm", "ogg", "mp3", "m4a", "wav"),
+            "stylesheet", List.of("css"));
+    private static final String DEFAULT_BLOCKED_URLS = "*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*,*connect.facebook.net*,*hotjar.com*";
 
     public ActionLibrary() {
-        loadConfig();
+        this(null);
     }
 
-    private void loadConfig() {
-        configProps = new Properties();
-        try (InputStream input = ActionLibrary.class.getClassLoader().getResourceAsStream("config.properties")) {
-            if (input != null) configProps.load(input);
-        } catch (Exception e) {}
+    /** With a pool, drivers are leased from it and handed back (reset, not quit) in {@link #quit()}. */
+    public ActionLibrary(SessionPool sessionPool) {
+        this.sessionPool = sessionPool;
     }
 
     // ==========================================
     // 🌐 1a. DESKTOP WEB SETUP
     // ==========================================
-    public void openBrowser() {
+    public void openBrowser() throws Exception {
         System.out.println("   🌐 Launching Chrome Desktop...");
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--remote-allow-origins=*");
-        options.addArguments("--start-maximized");
-        driver = new ChromeDriver(options);
+        if (fastWeb) {
+            applyFastProfile(options, "WEB");
+            options.addArguments("--window-size=1920,1080"); // headless has no screen to maximize to
+        } else {
+            options.addArguments("--start-maximized");
+        }
+        driver = acquire("WEB", options, () -> new ChromeDriver(options));
+        if (fastWeb) blockResources();
         initWait();
     }
 
     // ==========================================
     // 📱🌐 1b. MOBILE WEB SETUP (Chrome Emulation)
     // ==========================================
-    public void openMobileWeb() {
+    public void openMobileWeb() throws Exception {
         System.out.println("   📱🌐 Launching Chrome in Mobile View (iPhone 12 Pro)...");
         Map<String, String> mobileEmulation = new HashMap<>();
         mobileEmulation.put("deviceName", "iPhone 12 Pro");
@@ -78,11 +114,77 @@ public class ActionLibrary {
         ChromeOptions options = new ChromeOptions();
         options.setExperimentalOption("mobileEmulation", mobileEmulation);
         options.addArguments("--remote-allow-origins=*");
+        if (fastWeb) applyFastProfile(options, "MWEB");
 
-        driver = new ChromeDriver(options);
+        driver = acquire("MWEB", options, () -> new ChromeDriver(options));
+        if (fastWeb) blockResources();
         initWait();
     }
 
+    // ==========================================
+    // ⚡ 1c. FAST WEB PROFILE
+    // ==========================================
+    private void applyFastProfile(ChromeOptions options, String platform) {
+        System.out.println("   ⚡ Fast web profile: headless, eager page load, blocked resources");
+        headless = true;
+        options.addArguments("--headless=new");
+        // Steps only need the DOM; images, fonts and late scripts do not hold up navigate()
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        // Slots are reused by later scenarios, so static assets are fetched once per slot, not once per scenario.
+        // Outside target/ so "mvn clean" keeps it; CI caches it between runs
+        cacheSlot = leaseCacheSlot(platform);
+        options.addArguments("--disk-cache-dir=" + Paths.get(EngineConfig.get("web.fast.cacheDir", "cache/chrome"), cacheSlot).toAbsolutePath());
+        if (blockedTypes().contains("image")) {
+            // Catches images whose URL has no extension, which the CDP patterns below cannot
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+    }
+
+    // Lowest free slot for the platform; a pooled browser keeps its slot's directory, so its key matches on reuse
+    private static String leaseCacheSlot(String platform) {
+        synchronized (CACHE_SLOTS) {
+            for (int i = 0; ; i++) {
+                String slot = platform.toLowerCase() + "-" + i;
+                if (CACHE_SLOTS.add(slot)) return slot;
+            }
+        }
+    }
+
+    /**
+     * Blocks "web.fast.blockTypes" (default image,font,media; also stylesheet) and the URL patterns in
+     * "web.fast.blockUrls" (default: common analytics/ad hosts) for the session via DevTools.
+     */
+    private void blockResources() {
+        List<String> patterns = new ArrayList<>();
+        for (String type : blockedTypes()) {
+            List<String> extensions = BLOCKED_EXTENSIONS.get(type);
+            if (extensions == null) {
+                System.err.println("   ⚠️ Unknown web.fast.blockTypes entry: " + type);
+                continue;
+            }
+            for (String ext : extensions) {
+                patterns.add("*." + ext);
+                patterns.add("*." + ext + "?*");
+            }
+        }
+        patterns.addAll(csv(EngineConfig.get("web.fast.blockUrls", DEFAULT_BLOCKED_URLS)));
+        if (patterns.isEmpty() || !(driver instanceof HasCdp cdp)) return;
+        try {
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+        } catch (Exception e) {
+            System.err.println("   ⚠️ Could not block resources via DevTools: " + e.getMessage());
+        }
+    }
+
+    private static List<String> blockedTypes() {
+        return csv(EngineConfig.get("web.fast.blockTypes", "image,font,media").toLowerCase());
+    }
+
+    private static List<String> csv(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(v -> !v.isEmpty()).toList();
+    }
+
     // ==========================================
     // 🍏 2. iOS REAL DEVICE SETUP
     // ==========================================
@@ -104,7 +206,7 @@ public class ActionLibrary {
         options.setNewCommandTimeout(Duration.ofSeconds(60));
         // 🚀 THE FIX: Tell Appium to auto-accept any iOS system popups (Notifications/Location)
         options.setCapability("appium:autoAcceptAlerts", true);
-        driver = new IOSDriver(new URL("http://127.0.0.1:4723/"), options);
+        driver = acquire("IOS_REAL_DEVICE", options, () -> new IOSDriver(appiumUrl(), options));
         initWait();
     }
 
@@ -118,6 +220,8 @@ public class ActionLibrary {
         options.setAutomationName("UiAutomator2");
         options.setDeviceName("emulator-5554");
         options.setApp("/Users/swagatkumarbisoyi/Desktop/JustdialAndroid.apk");
+        // Lets a pooled session reset by clearing and relaunching the app instead of reinstalling it
+        options.setAppPackage("com.justdial.search");
 
         options.setUnlockType("pin");
         options.setUnlockKey("1234");
@@ -125,7 +229,7 @@ public class ActionLibrary {
         options.setNoReset(false);
         options.setNewCommandTimeout(Duration.ofSeconds(60));
 
-        driver = new AndroidDriver(new URL("http://127.0.0.1:4723/"), options);
+        driver = acquire("ANDROID_EMULATOR", options, () -> new AndroidDriver(appiumUrl(), options));
         initWait();
     }
 
@@ -148,22 +252,52 @@ public class ActionLibrary {
         options.setNoReset(true);
         options.setNewCommandTimeout(Duration.ofSeconds(60));
 
-        driver = new AndroidDriver(new URL("http://127.0.0.1:4723/"), options);
+        driver = acquire("ANDROID_REAL_DEVICE", options, () -> new AndroidDriver(appiumUrl(), options));
         initWait();
     }
 
     // ==========================================
-    // 🎥 4. VIDEO RECORDING (Optimized for Mac QuickTime)
+    // 📼 4. OFFLINE REPLAY (no device, no browser)
+    // ==========================================
+    public void openReplay(String scenarioFile) throws Exception {
+        System.out.println("   📼 Replaying recorded screens for " + scenarioFile + "...");
+        // Never pooled: every scenario starts its recording from the first screen
+        attach(ReplayDriver.forScenario(scenarioFile));
+    }
+
+    private WebDriver acquire(String platform, Capabilities caps, SessionPool.DriverFactory factory) throws Exception {
+        return sessionPool == null ? factory.create() : sessionPool.acquire(platform, caps, factory);
+    }
+
+    private static URL appiumUrl() throws Exception {
+        return new URL(EngineConfig.get("appium.url", "http://127.0.0.1:4723/"));
+    }
+
     // ==========================================
-    public void startRecording() {
+    // 🎥 5. VIDEO RECORDING (Optimized for Mac QuickTime)
+    // ==========================================
+    public void startRecording() { startRecording("session"); }
+
+    public void startRecording(String label) {
+        if (recordingMode.equals("off") || driver instanceof ReplayDriver) return; // nothing on screen to record
+        if (recordingMode.equals("failures")) {
+            System.out.println("   🎞️ Failure replay buffer on (no video)");
+            replay = FailureReplay.fromConfig();
+            return;
+        }
         try {
             if (driver instanceof CanRecordScreen) {
                 System.out.println("   🎥 Started Mobile Screen Recording...");
                 ((CanRecordScreen) driver).startRecordingScreen();
+            } else if (headless) {
+                System.out.println("   🎥 Headless browser, no desktop to record");
+            } else if (sharedDesktop) {
+                System.out.println("   🎥 Browsers run side by side, skipping desktop recording (recording.mode=failures keeps per-scenario screenshots)");
             } else {
                 System.out.println("   🎥 Started Web/MWeb Desktop Recording...");
                 GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
-                File targetFolder = new File("target/");
+                // Each scenario gets its own Monte folder so parallel recordings never pick up each other's files
+                File targetFolder = new File("target/recordings/" + label);
                 if (!targetFolder.exists()) targetFolder.mkdirs();
 
                 Format fileFormat = new Format(MediaTypeKey, MediaType.FILE, MimeTypeKey, MIME_AVI);
@@ -180,81 +314,30 @@ public class ActionLibrary {
         }
     }
 
-    public void stopRecording(String scenarioName) {
+    public void stopRecording(String scenarioName) { stopRecording(scenarioName, false); }
+
+    /**
+     * Hands the recording to {@link VideoPipeline}; decoding and ffmpeg happen off the scenario thread. In
+     * failure-replay mode the buffered frames are written only when the scenario did not pass.
+     */
+    public void stopRecording(String scenarioName, boolean passed) {
+        String label = scenarioName.replace(".txt", "");
+        if (replay != null) {
+            if (!passed && !replay.isEmpty()) VideoPipeline.get().submitReplay(label, replay);
+            replay = null;
+            return;
+        }
         try {
             if (driver instanceof CanRecordScreen) {
                 // 📱 MOBILE LOGIC
                 System.out.println("   💾 Stopping Mobile recording...");
                 String base64Video = ((CanRecordScreen) driver).stopRecordingScreen();
-                byte[] decodedVideo = Base64.getDecoder().decode(base64Video);
-
-                String baseName = scenarioName.replace(".txt", "") + "_Mobile_Video";
-                File rawFile = new File("target/" + baseName + "_raw.mp4");
-                File finalFile = new File("target/" + baseName + ".mp4");
-
-                Files.write(rawFile.toPath(), decodedVideo);
-
-                System.out.println("   🔄 Optimizing Mobile Video for QuickTime...");
-                // Note: Mobile screens are already even dimensions, so it rarely fails here.
-                ProcessBuilder pb = new ProcessBuilder("ffmpeg", "-y", "-i", rawFile.getAbsolutePath(), "-c:v", "libx264", "-pix_fmt", "yuv420p", "-preset", "fast", finalFile.getAbsolutePath());
-                Process p = pb.redirectErrorStream(true).start();
-                try (java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(p.getInputStream()))) {
-                    while (reader.readLine() != null) {}
-                }
-                p.waitFor();
-
-                if (finalFile.exists() && finalFile.length() > 0) {
-                    rawFile.delete();
-                    System.out.println("   ✅ Mobile Video saved: " + finalFile.getAbsolutePath());
-                }
-
+                VideoPipeline.get().submitMobile(label, base64Video);
             } else if (screenRecorder != null) {
                 // 🌐 WEB & MWEB LOGIC
                 System.out.println("   💾 Stopping Web/MWeb recording...");
-                Thread.sleep(1000); // Give Monte a second to flush frames
-                screenRecorder.stop();
-
-                List<File> createdFiles = screenRecorder.getCreatedMovieFiles();
-                if (createdFiles != null && !createdFiles.isEmpty()) {
-                    File sourceAvi = createdFiles.get(0);
-                    File aviFile = new File("target/" + scenarioName.replace(".txt", "") + "_WEB_Video.avi");
-                    File mp4File = new File("target/" + scenarioName.replace(".txt", "") + "_WEB_Video.mp4");
-
-                    if (aviFile.exists()) aviFile.delete();
-                    if (mp4File.exists()) mp4File.delete();
-
-                    Files.move(sourceAvi.toPath(), aviFile.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-
-                    System.out.println("   🔄 Converting Web Video to QuickTime MP4...");
-
-                    // THE FIX: Added the scale filter to force even-numbered dimensions
-                    ProcessBuilder pb = new ProcessBuilder(
-                            "ffmpeg", "-y", "-i", aviFile.getAbsolutePath(),
-                            "-vf", "scale=trunc(iw/2)*2:trunc(ih/2)*2", // <--- MAGIC PIXEL FIX
-                            "-c:v", "libx264", "-pix_fmt", "yuv420p", "-preset", "fast",
-                            mp4File.getAbsolutePath()
-                    );
-                    Process p = pb.redirectErrorStream(true).start();
-
-                    // Capture FFmpeg logs just in case it crashes
-                    StringBuilder ffmpegLogs = new StringBuilder();
-                    try (java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(p.getInputStream()))) {
-                        String line;
-                        while ((line = reader.readLine()) != null) {
-                            ffmpegLogs.append(line).append("\n");
-                        }
-                    }
-                    p.waitFor();
-
-                    if (mp4File.exists() && mp4File.length() > 0) {
-                        aviFile.delete(); // Cleanup AVI only if MP4 succeeded
-                        System.out.println("   ✅ Web Video saved: " + mp4File.getAbsolutePath());
-                    } else {
-                        System.err.println("   ❌ MP4 Conversion failed. FFmpeg Error Log:");
-                        System.err.println(ffmpegLogs.toString()); // Print exactly why it failed!
-                        System.err.println("   💾 Original AVI kept at: " + aviFile.getAbsolutePath());
-                    }
-                }
+                VideoPipeline.get().submitWeb(label, screenRecorder);
+                screenRecorder = null;
             }
         } catch (Exception e) {
             System.err.println("   ❌ Failed to save video: " + e.getMessage());
@@ -265,18 +348,85 @@ public class ActionLibrary {
     // ⚙️ CORE ACTIONS
     // ==========================================
     private void initWait() {
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        // Explicit waits only: an implicit wait would stack on top of every polled findElement
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        tracked = CommandCounter.wrap(driver, commandCount);
+        wait = new WaitEngine(tracked);
     }
 
-    public void quit() { if (driver != null) { driver.quit(); driver = null; } }
-    public void navigate(String url) { driver.get(url); }
-    public void tap(String loc) { wait.until(ExpectedConditions.elementToBeClickable(getLocator(loc))).click(); }
-    public void type(String txt, String loc) { WebElement el = wait.until(ExpectedConditions.visibilityOfElementLocated(getLocator(loc))); el.clear(); el.sendKeys(txt); }
-    public void verifyVisible(String loc) { wait.until(ExpectedConditions.visibilityOfElementLocated(getLocator(loc))); }
-    public void waitFor(int seconds) { try { Thread.sleep(seconds * 1000L); } catch (Exception e) {} }
+    /** Adopts an already-created session (replay/no-op drivers, tools) instead of launching one. */
+    void attach(WebDriver session) {
+        driver = session;
+        initWait();
+    }
+
+    public void quit() {
+        if (cacheSlot != null) {
+            synchronized (CACHE_SLOTS) { CACHE_SLOTS.remove(cacheSlot); }
+            cacheSlot = null;
+        }
+        if (driver == null) return;
+        if (sessionPool != null && !(driver instanceof ReplayDriver)) sessionPool.release(driver); else driver.quit();
+        driver = null;
+        tracked = null;
+    }
+    public void navigate(String url) { snapshot = null; tracked.get(url); }
+    public void tap(String loc) { tap(getLocator(loc)); }
+    public void tap(By by) { snapshot = null; wait.until(ExpectedConditions.elementToBeClickable(by)).click(); }
+    public void type(String txt, String loc) { type(txt, getLocator(loc)); }
+    public void type(String txt, By by) { snapshot = null; WebElement el = wait.until(ExpectedConditions.visibilityOfElementLocated(by)); el.clear(); el.sendKeys(txt); }
+    public void verifyVisible(String loc) { verifyVisible(getLocator(loc)); }
+    public void verifyVisible(By by) {
+        if (verifiedFromSnapshot(by)) return;
+        wait.until(ExpectedConditions.visibilityOfElementLocated(by));
+    }
+    public void waitFor(int seconds) { waitFor(seconds, null); }
+    public void waitFor(int seconds, By nextLocator) {
+        snapshot = null;
+        if (wait == null) { try { Thread.sleep(seconds * 1000L); } catch (Exception e) {} return; }
+        wait.pause(seconds, nextLocator);
+    }
 
-    private By getLocator(String raw) {
+    /**
+     * Answers a Verify from the cached hierarchy (one getPageSource() for a run of Verify steps) instead of
+     * evaluating the XPath on the device. Anything not found locally falls back to the normal on-device wait,
+     * since the element may simply not have rendered yet.
+     */
+    private boolean verifiedFromSnapshot(By by) {
+        if (!snapshotMode || !(driver instanceof AppiumDriver) || !PageSnapshot.canEvaluate(by)) return false;
+        try {
+            if (snapshot == null) snapshot = PageSnapshot.parse(tracked.getPageSource());
+            if (snapshot.isVisible(by)) {
+                snapshotHits++;
+                return true;
+            }
+        } catch (Exception e) {
+            System.err.println("   ⚠️ Snapshot lookup failed, using the device: " + e.getMessage());
+        }
+        snapshot = null;
+        return false;
+    }
+
+    public long getSnapshotHits() { return snapshotHits; }
+
+    /**
+     * Failure-replay mode: screenshots the screen a step left behind. Waits and checkpoints change nothing on
+     * screen and are skipped unless they failed. Uses the raw driver so the capture is not counted as a step command.
+     */
+    public void captureStep(ScenarioPlan.Step step, boolean ok, long millis) {
+        if (replay == null || !(driver instanceof TakesScreenshot camera)) return;
+        if (ok && (step instanceof ScenarioPlan.WaitFor || step instanceof ScenarioPlan.Checkpoint || step instanceof ScenarioPlan.OpenBrowser)) return;
+        try {
+            replay.add(new FailureReplay.Frame(camera.getScreenshotAs(OutputType.BYTES), step.line(), step.text(), ok, millis, Instant.now()));
+        } catch (Exception e) {
+            // A dead session cannot be photographed; the annotations of earlier frames still tell the story
+        }
+    }
+    public long getSavedSleepMillis() { return wait == null ? 0 : wait.getSavedMillis(); }
+    public long getCommandCount() { return commandCount.get(); }
+    public long getWaitMillis() { return wait == null ? 0 : wait.getWaitedMillis(); }
+
+    static By getLocator(String raw) {
         if (raw.startsWith("id=")) return By.id(raw.substring(3));
         if (raw.startsWith("name=")) return By.name(raw.substring(5)); // 👈 ADD THIS LINE
         if (raw.startsWith("xpath=")) return By.xpath(raw.substring(6));
@@ -288,16 +438,7 @@ public class ActionLibrary {
     // 🔔 SLACK NOTIFICATION
     // ==========================================
     public void sendSlackNotification(String message) {
-        String webhookUrl = (configProps != null) ? configProps.getProperty("slack.webhook.url") : null;
-        if (webhookUrl == null || webhookUrl.isEmpty()) webhookUrl = System.getenv("SLACK_WEBHOOK_URL");
-        if (webhookUrl == null || webhookUrl.isEmpty()) return;
-
-        try {
-            String jsonPayload = "{\"text\": \"" + message.replace("\"", "'").replace("\n", "\\n") + "\"}";
-            URL url = new URL(webhookUrl);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setDoOutput(true); conn.setRequestMethod("POST"); conn.setRequestProperty("Content-Type", "application/json");
-            try (OutputStream os = conn.getOutputStream()) { os.write(jsonPayload.getBytes("UTF-8")); }
-        } catch (Exception e) {}
+        // Queued for the run digest; the scenario thread never waits on Slack
+        SlackNotifier.get().post(message);
     }
 }
\ No newline at end of file
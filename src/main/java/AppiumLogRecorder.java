@@ -0,0 +1,433 @@
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns an Appium server log into a page-object file and a scenario, in the formats the Engine reads.
+ * Replaces appium_ai_agent.py: the log is tailed incrementally (WatchService plus a tracked read position, no
+ * readline busy loop), lines are matched on raw bytes so the ~99% of lines that are not commands never become
+ * Strings, element names are derived locally from @name / accessibility ids, and both output files are
+ * appended to instead of rewritten.
+ *
+ * Recorded from the client side of the log:
+ *   --> POST /session/s/element {"using":..,"value":..}   remembered as the pending locator
+ *   Responding to client with driver.findElement() result  binds the returned element id to it
+ *   --> POST /session/s/element/ID/click                   "Tap on Name" + "Wait for 2"
+ *   --> POST /session/s/element/ID/value {"text":..}       "Type text in Name" + "Wait for 1"
+ *
+ * Usage: AppiumLogRecorder [--once] [--from-end] [--fresh]. Files: "recorder.log" (appium.log),
+ * "recorder.locators" (locators.json), "recorder.steps" (steps.txt).
+ */
+public class AppiumLogRecorder implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final byte[] HTTP_POST = bytes("[HTTP] --> POST /session/");
+    private static final byte[] FIND_RESULT = bytes("driver.findElement() result: ");
+    private static final int HTTP_POST_ANCHOR = "[HTTP] --".length();
+    private static final int FIND_RESULT_ANCHOR = "driver.findElement".length();
+    private static final byte[] ELEMENT_PATH = bytes("/element");
+    private static final byte[] W3C_KEY = bytes("\"element-6066-11e4-a52e-4f735466cecf\":\"");
+    private static final byte[] LEGACY_KEY = bytes("\"ELEMENT\":\"");
+    private static final byte[] USING_KEY = bytes("\"using\":\"");
+    private static final byte[] VALUE_KEY = bytes("\"value\":\"");
+    private static final byte[] TEXT_KEY = bytes("\"text\":\"");
+    private static final byte[] CLICK = bytes("click");
+    private static final byte[] VALUE = bytes("value");
+
+    private final Path logFile;
+    private final Path locatorsFile;
+    private final Path stepsFile;
+
+    // locator ("xpath=...") -> page-object key, and the reverse for clash detection
+    private final Map<String, String> keysByLocator = new HashMap<>();
+    private final Map<String, String> locatorsByKey = new LinkedHashMap<>();
+    // element id returned by findElement -> the locator that found it
+    private final Map<String, String> elements = new HashMap<>();
+    private FileChannel locatorsOut;
+    private long locatorsEnd;
+    private FileChannel stepsOut;
+    private boolean stepsNeedNewline;
+    private String pendingLocator;
+    private long position;
+    private int steps;
+    private int skipped;
+
+    AppiumLogRecorder(Path logFile, Path locatorsFile, Path stepsFile) {
+        this.logFile = logFile;
+        this.locatorsFile = locatorsFile;
+        this.stepsFile = stepsFile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> argList = Arrays.asList(args);
+        try (AppiumLogRecorder recorder = new AppiumLogRecorder(
+                Paths.get(EngineConfig.get("recorder.log", "appium.log")),
+                Paths.get(EngineConfig.get("recorder.locators", "locators.json")),
+                Paths.get(EngineConfig.get("recorder.steps", "steps.txt")))) {
+            recorder.open(argList.contains("--fresh"));
+            if (argList.contains("--from-end") && Files.exists(recorder.logFile)) recorder.position = Files.size(recorder.logFile);
+
+            System.out.println("🎧 Recording " + recorder.logFile + " -> " + recorder.locatorsFile + " + " + recorder.stepsFile);
+            long start = System.nanoTime();
+            if (argList.contains("--once")) {
+                recorder.drain();
+                double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+                System.out.println(String.format("🏁 Read %.1f MB in %.2fs (%.0f MB/s): %d step(s), %d locator(s), %d unsupported action(s)",
+                        recorder.position / 1e6, seconds, recorder.position / 1e6 / seconds, recorder.steps, recorder.locatorsByKey.size(), recorder.skipped));
+            } else {
+                recorder.follow();
+            }
+        }
+    }
+
+    // ==========================================
+    // 📂 OUTPUT FILES
+    // ==========================================
+    void open(boolean fresh) throws IOException {
+        if (fresh || !Files.exists(locatorsFile) || Files.size(locatorsFile) == 0) {
+            Files.writeString(locatorsFile, "{\n}\n", StandardCharsets.UTF_8);
+        }
+        if (fresh || !Files.exists(stepsFile)) Files.writeString(stepsFile, "", StandardCharsets.UTF_8);
+
+        Map<String, String> existing;
+        try {
+            existing = MAPPER.readValue(locatorsFile.toFile(), new TypeReference<LinkedHashMap<String, String>>() {});
+        } catch (IOException e) {
+            // Appending to a broken file would only make it worse
+            throw new IOException(locatorsFile + " is not valid JSON (" + e.getMessage() + "); fix it or start with --fresh", e);
+        }
+        existing.forEach((key, locator) -> {
+            locatorsByKey.put(key, locator);
+            keysByLocator.putIfAbsent(locator, key);
+        });
+
+        // Both files stay open; every write goes to a known offset instead of re-reading the file
+        locatorsOut = FileChannel.open(locatorsFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long closing = locatorsOut.size() - 1;
+        while (closing >= 0 && byteAt(locatorsOut, closing) != '}') closing--;
+        if (closing < 0) throw new IOException(locatorsFile + " has no closing brace");
+        // Entries go right after the last one, whitespace before the brace is dropped
+        locatorsEnd = closing;
+        while (locatorsEnd > 0 && isWhitespace(byteAt(locatorsOut, locatorsEnd - 1))) locatorsEnd--;
+
+        stepsOut = FileChannel.open(stepsFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        stepsNeedNewline = stepsOut.size() > 0 && byteAt(stepsOut, stepsOut.size() - 1) != '\n';
+        stepsOut.position(stepsOut.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (locatorsOut != null) locatorsOut.close();
+        if (stepsOut != null) stepsOut.close();
+    }
+
+    /** Inserts one entry before the closing brace, so the file is valid JSON after every write. */
+    private void appendLocator(String key, String locator) throws IOException {
+        String entry = (locatorsByKey.isEmpty() ? "\n" : ",\n") + "  " + MAPPER.writeValueAsString(key) + ": " + MAPPER.writeValueAsString(locator);
+        byte[] bytes = (entry + "\n}\n").getBytes(StandardCharsets.UTF_8);
+        locatorsOut.write(ByteBuffer.wrap(bytes), locatorsEnd);
+        locatorsOut.truncate(locatorsEnd + bytes.length);
+        locatorsEnd += entry.getBytes(StandardCharsets.UTF_8).length;
+        locatorsByKey.put(key, locator);
+        keysByLocator.put(locator, key);
+    }
+
+    private void appendStep(String step) throws IOException {
+        String text = (stepsNeedNewline ? "\n" : "") + step + "\n";
+        stepsOut.write(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+        stepsNeedNewline = false;
+        steps++;
+        System.out.println("✅ Recorded: " + step.replace("\n", " | "));
+    }
+
+    // ==========================================
+    // 👀 TAILING
+    // ==========================================
+    /** Reads whatever the log has beyond the current position, then waits for the file to change. Runs until interrupted. */
+    void follow() throws IOException, InterruptedException {
+        Path dir = logFile.toAbsolutePath().getParent();
+        try (WatchService watcher = dir.getFileSystem().newWatchService()) {
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!Thread.currentThread().isInterrupted()) {
+                drain();
+                // Some platforms poll behind WatchService; the timeout keeps latency bounded there too
+                var key = watcher.poll(500, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {}
+    }
+
+    /** Processes complete lines from the current position to the end of the file. */
+    void drain() throws IOException {
+        if (!Files.exists(logFile)) return;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (channel.size() < position) {
+                System.out.println("🔄 " + logFile + " was truncated, reading from the start");
+                position = 0;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            long readAt = position;
+            int n;
+            while ((n = channel.read(buffer, readAt)) > 0) {
+                readAt += n;
+                int limit = buffer.position();
+                int lineStart = 0;
+                for (int i = indexOf(bytes, (byte) '\n', 0, limit); i >= 0; i = indexOf(bytes, (byte) '\n', lineStart, limit)) {
+                    onLine(bytes, lineStart, i);
+                    lineStart = i + 1;
+                }
+                position += lineStart;
+                if (lineStart == 0 && limit == bytes.length) {
+                    // A single line longer than the buffer (a page source dump): skip it whole
+                    position += limit;
+                    buffer.clear();
+                    continue;
+                }
+                // Keep the unfinished tail line for the next read
+                System.arraycopy(bytes, lineStart, bytes, 0, limit - lineStart);
+                buffer.position(limit - lineStart);
+            }
+        }
+    }
+
+    // ==========================================
+    // 🔍 MATCHING
+    // ==========================================
+    void onLine(byte[] line, int from, int to) throws IOException {
+        int post = indexOf(line, HTTP_POST, HTTP_POST_ANCHOR, from, to);
+        if (post >= 0) {
+            onRequest(line, post + HTTP_POST.length, to);
+            return;
+        }
+        int result = indexOf(line, FIND_RESULT, FIND_RESULT_ANCHOR, from, to);
+        if (result >= 0 && pendingLocator != null) {
+            String elementId = jsonString(line, W3C_KEY, result, to);
+            if (elementId == null) elementId = jsonString(line, LEGACY_KEY, result, to);
+            if (elementId != null) elements.put(elementId, pendingLocator);
+            pendingLocator = null;
+        }
+    }
+
+    // "sessionId/element {...}", "sessionId/element/ID/click {}", "sessionId/element/ID/value {...}"
+    private void onRequest(byte[] line, int from, int to) throws IOException {
+        int element = indexOf(line, ELEMENT_PATH, from, to);
+        if (element < 0) return;
+        int at = element + ELEMENT_PATH.length;
+        if (at >= to) return;
+
+        if (line[at] == ' ') {
+            String using = jsonString(line, USING_KEY, at, to);
+            String value = jsonString(line, VALUE_KEY, at, to);
+            pendingLocator = (using == null || value == null) ? null : toLocator(using, value);
+            if (pendingLocator == null && using != null) skipped++;
+            return;
+        }
+        if (line[at] != '/') return;
+
+        int idEnd = indexOf(line, (byte) '/', at + 1, to);
+        if (idEnd < 0) return;
+        int commandEnd = idEnd + 1;
+        while (commandEnd < to && line[commandEnd] != ' ' && line[commandEnd] != '/') commandEnd++;
+        boolean click = regionEquals(line, idEnd + 1, commandEnd, CLICK);
+        boolean type = !click && regionEquals(line, idEnd + 1, commandEnd, VALUE);
+        if (!click && !type) return;
+
+        String locator = elements.get(new String(line, at + 1, idEnd - at - 1, StandardCharsets.US_ASCII));
+        if (locator == null) return;
+        if (click) {
+            appendStep("Tap on " + keyFor(locator, "Button") + "\nWait for 2");
+        } else {
+            String text = jsonString(line, TEXT_KEY, commandEnd, to);
+            // A step is one line; keys typed as "\n" (submit) would split it
+            if (text != null) appendStep("Type " + text.replace('\n', ' ').trim() + " in " + keyFor(locator, "Field") + "\nWait for 1");
+        }
+    }
+
+    /** Maps a W3C strategy onto the prefixes ActionLibrary.getLocator understands; null when it has none. */
+    static String toLocator(String using, String value) {
+        switch (using) {
+            case "xpath": return "xpath=" + value;
+            case "accessibility id": return "accessId=" + value;
+            case "id": return "id=" + value;
+            case "name": return "name=" + value;
+            case "class name": return "xpath=//" + value;
+            default: return null; // class chain, predicate, css: not expressible in a page-object file
+        }
+    }
+
+    // ==========================================
+    // 🏷️ NAMING
+    // ==========================================
+    /** Existing key for the locator, or a new one registered in locators.json. */
+    private String keyFor(String locator, String actionSuffix) throws IOException {
+        String key = keysByLocator.get(locator);
+        if (key != null) return key;
+        String base = nameFor(locator, actionSuffix);
+        key = base;
+        for (int n = 2; locatorsByKey.containsKey(key); n++) key = base + n;
+        appendLocator(key, locator);
+        return key;
+    }
+
+    /**
+     * PascalCase name from the element's @name / accessibility id, suffixed with its kind: the XCUIElementType
+     * when the XPath names one, otherwise what the action implies (tapped = Button, typed into = Field).
+     */
+    static String nameFor(String locator, String actionSuffix) {
+        String value = locator.substring(locator.indexOf('=') + 1);
+        String type = null;
+        int typeAt = value.indexOf("XCUIElementType");
+        if (typeAt >= 0) {
+            int end = typeAt + "XCUIElementType".length();
+            while (end < value.length() && Character.isLetterOrDigit(value.charAt(end))) end++;
+            type = value.substring(typeAt + "XCUIElementType".length(), end);
+        }
+        if (locator.startsWith("xpath=")) {
+            int name = value.indexOf("@name=");
+            if (name < 0) name = value.indexOf("@label=");
+            if (name >= 0) {
+                int open = value.indexOf('=', name) + 1;
+                char quote = open < value.length() ? value.charAt(open) : '"';
+                int close = value.indexOf(quote, open + 1);
+                value = close > open ? value.substring(open + 1, close) : value.substring(open);
+            } else {
+                value = "";
+            }
+        }
+
+        StringBuilder name = new StringBuilder();
+        boolean upper = true;
+        for (int i = 0; i < value.length() && name.length() < 40; i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c) && c < 128) {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            } else {
+                upper = true;
+            }
+        }
+
+        String suffix = type == null ? actionSuffix : suffixFor(type);
+        if (name.length() == 0) return type != null ? type : "Element" + actionSuffix;
+        if (Character.isDigit(name.charAt(0))) name.insert(0, 'E');
+        if (!name.toString().endsWith(suffix)) name.append(suffix);
+        return name.toString();
+    }
+
+    private static String suffixFor(String type) {
+        switch (type) {
+            case "TextField":
+            case "SecureTextField":
+            case "SearchField":
+            case "TextView":
+                return "Field";
+            case "StaticText":
+                return "Text";
+            default:
+                return type;
+        }
+    }
+
+    // ==========================================
+    // 🧮 BYTE HELPERS
+    // ==========================================
+    private static int indexOf(byte[] bytes, byte b, int from, int to) {
+        for (int i = from; i < to; i++) if (bytes[i] == b) return i;
+        return -1;
+    }
+
+    static int indexOf(byte[] bytes, byte[] pattern, int from, int to) {
+        return indexOf(bytes, pattern, 0, from, to);
+    }
+
+    /**
+     * Substring search that scans for pattern[anchor] first. Anchoring on a byte that is rare in Appium logs
+     * ('>' of "-->", '(' of "()") instead of a common first letter keeps the per-line rejection cheap.
+     */
+    static int indexOf(byte[] bytes, byte[] pattern, int anchor, int from, int to) {
+        byte key = pattern[anchor];
+        int last = to - pattern.length + anchor;
+        outer:
+        for (int i = from + anchor; i <= last; i++) {
+            if (bytes[i] != key) continue;
+            int start = i - anchor;
+            for (int j = 0; j < pattern.length; j++) if (bytes[start + j] != pattern[j]) continue outer;
+            return start;
+        }
+        return -1;
+    }
+
+    private static boolean regionEquals(byte[] bytes, int from, int to, byte[] pattern) {
+        if (to - from != pattern.length) return false;
+        for (int i = 0; i < pattern.length; i++) if (bytes[from + i] != pattern[i]) return false;
+        return true;
+    }
+
+    /** Decodes the JSON string that follows key ("key":"), handling escapes. Null when key is absent. */
+    static String jsonString(byte[] bytes, byte[] key, int from, int to) {
+        int start = indexOf(bytes, key, from, to);
+        if (start < 0) return null;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = start + key.length; i < to; i++) {
+            byte b = bytes[i];
+            if (b == '"') return out.toString(StandardCharsets.UTF_8);
+            if (b != '\\' || i + 1 >= to) {
+                out.write(b);
+                continue;
+            }
+            byte e = bytes[++i];
+            switch (e) {
+                case 'n': out.write('\n'); break;
+                case 't': out.write('\t'); break;
+                case 'r': out.write('\r'); break;
+                case 'b': out.write('\b'); break;
+                case 'f': out.write('\f'); break;
+                case 'u':
+                    if (i + 4 >= to) return null;
+                    char c = (char) Integer.parseInt(new String(bytes, i + 1, 4, StandardCharsets.US_ASCII), 16);
+                    out.writeBytes(String.valueOf(c).getBytes(StandardCharsets.UTF_8));
+                    i += 4;
+                    break;
+                default: out.write(e); // \" \\ \/
+            }
+        }
+        return null;
+    }
+
+    private static byte byteAt(FileChannel channel, long index) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        channel.read(one, index);
+        return one.get(0);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
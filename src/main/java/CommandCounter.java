@@ -0,0 +1,90 @@
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps a driver in a JDK dynamic proxy that counts WebDriver round trips. Elements, options, timeouts,
+ * navigation and target locators it hands out are wrapped as well, so element.click() etc. are counted too.
+ * (Selenium's EventFiringDecorator does the same but generates a class per decorated object, ~10ms a call.)
+ */
+final class CommandCounter implements InvocationHandler {
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "getWrappedDriver", "getWrappedElement", "equals", "hashCode", "toString");
+
+    private final Object target;
+    private final AtomicLong counter;
+
+    private CommandCounter(Object target, AtomicLong counter) {
+        this.target = target;
+        this.counter = counter;
+    }
+
+    static WebDriver wrap(WebDriver driver, AtomicLong counter) {
+        return (WebDriver) proxy(driver, counter);
+    }
+
+    // Interface lists are computed once per concrete class; findElement runs on every poll
+    private static final ClassValue<Class<?>[]> INTERFACES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) collect(c, interfaces);
+            if (WebDriver.class.isAssignableFrom(type)) interfaces.add(WrapsDriver.class);
+            if (WebElement.class.isAssignableFrom(type)) interfaces.add(WrapsElement.class);
+            return interfaces.toArray(new Class<?>[0]);
+        }
+    };
+
+    private static Object proxy(Object target, AtomicLong counter) {
+        return Proxy.newProxyInstance(CommandCounter.class.getClassLoader(), INTERFACES.get(target.getClass()),
+                new CommandCounter(target, counter));
+    }
+
+    private static void collect(Class<?> type, Set<Class<?>> into) {
+        for (Class<?> i : type.getInterfaces()) {
+            // A proxy cannot implement non-public interfaces from several packages
+            if (Modifier.isPublic(i.getModifiers()) && into.add(i)) collect(i, into);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (method.getDeclaringClass() == WrapsDriver.class) return target;
+        if (method.getDeclaringClass() == WrapsElement.class) return target;
+        if (!LOCAL_CALLS.contains(name)) counter.incrementAndGet();
+
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        return wrapResult(result);
+    }
+
+    private Object wrapResult(Object result) {
+        if (result instanceof WebElement || result instanceof WebDriver.Options || result instanceof WebDriver.Timeouts
+                || result instanceof WebDriver.Navigation || result instanceof WebDriver.TargetLocator) {
+            return proxy(result, counter);
+        }
+        if (result instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof WebElement) {
+            List<Object> wrapped = new ArrayList<>(list.size());
+            for (Object element : list) wrapped.add(proxy(element, counter));
+            return wrapped;
+        }
+        return result;
+    }
+}
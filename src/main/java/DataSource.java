@@ -0,0 +1,105 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parameter rows for data-driven scenarios, loaded from the classpath like the page-object and scenario files.
+ * .json: an array of flat objects. Anything else is read as CSV: a header row naming the variables, then one
+ * row per run (RFC 4180 quoting, "" for a literal quote). Blank lines are ignored.
+ */
+final class DataSource {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private DataSource() {}
+
+    static List<Map<String, String>> load(String file) throws Exception {
+        byte[] bytes;
+        try (InputStream is = DataSource.class.getClassLoader().getResourceAsStream(file)) {
+            if (is == null) throw new Exception("❌ Data File Not Found: " + file);
+            bytes = is.readAllBytes();
+        }
+        List<Map<String, String>> rows = file.toLowerCase().endsWith(".json") ? parseJson(bytes) : parseCsv(new String(bytes, StandardCharsets.UTF_8));
+        if (rows.isEmpty()) throw new Exception("Data file " + file + " has no rows");
+        return rows;
+    }
+
+    static List<Map<String, String>> parseJson(byte[] json) throws Exception {
+        JsonNode root = MAPPER.readTree(json);
+        if (root == null || !root.isArray()) throw new Exception("JSON data must be an array of objects");
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (JsonNode node : root) {
+            if (!node.isObject()) throw new Exception("JSON data row " + (rows.size() + 1) + " is not an object");
+            Map<String, String> row = new LinkedHashMap<>();
+            node.fields().forEachRemaining(e -> row.put(e.getKey(), e.getValue().isValueNode() ? e.getValue().asText() : e.getValue().toString()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    static List<Map<String, String>> parseCsv(String csv) throws Exception {
+        List<List<String>> records = csvRecords(csv);
+        if (records.isEmpty()) return List.of();
+        List<String> header = records.get(0);
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (int r = 1; r < records.size(); r++) {
+            List<String> values = records.get(r);
+            if (values.size() > header.size()) throw new Exception("CSV row " + (r + 1) + " has " + values.size() + " values for " + header.size() + " columns");
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int c = 0; c < header.size(); c++) row.put(header.get(c).trim(), c < values.size() ? values.get(c) : "");
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<String>> csvRecords(String csv) throws Exception {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean blank = true;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                blank = false;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                blank = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') i++;
+                if (!blank || field.length() > 0) {
+                    record.add(field.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                field.setLength(0);
+                blank = true;
+            } else {
+                field.append(c);
+                blank = false;
+            }
+        }
+        if (quoted) throw new Exception("CSV ends inside a quoted value");
+        if (!blank || field.length() > 0) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
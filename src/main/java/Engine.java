@@ -1,11 +1,14 @@
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class Engine {
@@ -15,6 +18,8 @@ public class Engine {
 //             new TestConfig("HotKeySelect.json", "HotKeySelect.txt", "WEB"),
 //             new TestConfig("login.json", "login.txt", "WEB"),
 //             new TestConfig("page_objects.json", "test_scenario.txt", "WEB")
+            // 📋 Data-driven: one run per CSV/JSON row with its ${column} values filled in (login_rows_row1, ...)
+//             new TestConfig("login.json", "login_rows.txt", "WEB", "login_rows.csv")
 
             // 📱 iOS REAL DEVICE TEST
             new TestConfig("ios_login.json", "ios_login.txt", "IOS_REAL_DEVICE")
@@ -26,40 +31,301 @@ public class Engine {
 //            new TestConfig("android_login.json", "android_login.txt", "ANDROID_REAL_DEVICE")
             // 📱🌐 Mobile Web (Chrome Emulation)
 //            new TestConfig("mweb_login.json", "mweb_login.txt", "MWEB")
+//            new TestConfig("mweb_login.json", "mweb_search_rows.txt", "MWEB", "mweb_search_rows.json")
+            // 📼 Offline replay of recorded screens (replay/<scenario>/*.xml), no device needed
+//            new TestConfig("ios_login.json", "ios_login.txt", "REPLAY")
     );
 
-    public static void main(String[] args) {
+    // Every platform the launcher in runFullTest knows how to open
+    static final List<String> PLATFORMS = List.of("WEB", "MWEB", "IOS_REAL_DEVICE", "ANDROID_EMULATOR", "ANDROID_REAL_DEVICE", "REPLAY");
+
+    // Warm driver sessions shared across scenarios; null when reuse is disabled
+    static SessionPool sessionPool;
+    // Scenario/step status of this run for --rerun-failed; null outside Engine.main
+    static RunJournal journal;
+
+    public static void main(String[] args) throws Exception {
+        List<String> argList = Arrays.asList(args);
+        if (argList.contains("--merge-shards")) {
+            mergeShards(Paths.get(argValue(args, "--merge-shards", "target/shards")));
+            return;
+        }
+        if (argList.contains("--warmup")) {
+            EngineDaemon.warmUp();
+            return;
+        }
+        if (argList.contains("--daemon")) {
+            if (argList.contains("--reuse-sessions")) sessionPool = new SessionPool();
+            EngineDaemon.run(Integer.parseInt(argValue(args, "--daemon", EngineConfig.get("daemon.port", "7070"))));
+            return;
+        }
+
         System.out.println("🚀 Engine Started at " + LocalDateTime.now());
-        for (TestConfig config : TEST_CONFIGS) {
-            runFullTest(config);
+        boolean parallel = argList.contains("--parallel") || EngineConfig.getBoolean("engine.parallel", false);
+        if (argList.contains("--reuse-sessions") || EngineConfig.getBoolean("session.pool.enabled", false)) {
+            System.out.println("♻️ Session reuse enabled");
+            sessionPool = new SessionPool();
+        }
+        List<ScenarioResult> dataFailures = new ArrayList<>();
+        // --scenario pageObjects.json,scenario.txt,PLATFORM runs just that one instead of TEST_CONFIGS
+        String only = argValue(args, "--scenario", null);
+        List<TestConfig> base = only == null ? TEST_CONFIGS : List.of(TestConfig.parse(only));
+        List<TestConfig> configs = expandRows(TestConfig.withUniqueLabels(base), dataFailures);
+        String shardSpec = argValue(args, "--shard", EngineConfig.get("engine.shard", null));
+        ShardPlanner.Shard shard = shardSpec == null ? null : ShardPlanner.Shard.parse(shardSpec);
+        if (shard != null) configs = ShardPlanner.select(configs, shard);
+        boolean rerun = argList.contains("--rerun-failed") || EngineConfig.getBoolean("engine.rerunFailed", false);
+        try {
+            Path journalDir = Paths.get(EngineConfig.get("journal.dir", Paths.get(EngineConfig.get("results.dir", "results"), "run-state").toString()));
+            // A --scenario run must not wipe the state of the rest of the suite
+            journal = RunJournal.open(journalDir, rerun, only != null);
+        } catch (Exception e) {
+            System.err.println("❌ Could not open run journal: " + e.getMessage());
+        }
+        if (rerun && journal != null) {
+            System.out.println("🔁 Rerunning scenarios that have not passed yet");
+            configs = journal.notYetPassed(configs);
+        }
+
+        long start = System.nanoTime();
+        List<ScenarioResult> results = new ArrayList<>();
+        if (shard == null || shard.index() == 1) results.addAll(dataFailures); // reported once, not by every shard
+        configs = validate(configs, results);
+        if (journal != null) results.forEach(journal::scenarioFinished);
+        // Data and compile failures never reach runFullTest, which posts every other FAILED line (rows: rowSummaries,
+        // sharded runs: the merge)
+        if (shard == null) results.stream().filter(r -> r.getDataset() == null).forEach(r -> SlackNotifier.get().post(failedMessage(r)));
+        ActionLibrary.sharedDesktop = desktopShared(configs, parallel);
+        if (parallel) {
+            System.out.println("⚡ Parallel mode: scenarios share a scheduler with per-platform limits");
+            try (ScenarioScheduler scheduler = new ScenarioScheduler()) {
+                results.addAll(scheduler.runAll(configs, Engine::runFullTest));
+            }
+        } else {
+            // Scenarios run one after another; the rows of a data-driven scenario fan out ("data.parallelism")
+            try (ScenarioScheduler rowScheduler = new ScenarioScheduler()) {
+                for (List<TestConfig> batch : batches(configs)) {
+                    if (batch.size() == 1) results.add(runFullTest(batch.get(0)));
+                    else results.addAll(rowScheduler.runAll(batch, Engine::runFullTest));
+                }
+            }
+        }
+        if (sessionPool != null) sessionPool.close();
+        if (journal != null) journal.close();
+        List<String> failedVideos = VideoPipeline.get().awaitCompletion(EngineConfig.getLong("video.awaitTimeoutSec", 600));
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+        printSummary(results, wallTime);
+        RunMetrics.get().export(Paths.get("target"), results, wallTime.toMillis());
+        if (!failedVideos.isEmpty()) {
+            System.err.println("🎬 " + failedVideos.size() + " video encode(s) failed:");
+            failedVideos.forEach(f -> System.err.println("   ❌ " + f));
+        }
+        if (shard != null) {
+            // The merge step records durations and sends the one Slack digest for the whole run
+            ShardPlanner.writeReport(Paths.get("target", "shards"), shard, results, wallTime.toMillis());
+        } else {
+            ResultsStore.open().record(results);
+            recordHistory(results, wallTime.toMillis(), SlackNotifier.get());
+            rowSummaries(results).forEach(SlackNotifier.get()::post);
+            long passed = results.stream().filter(ScenarioResult::isPassed).count();
+            SlackNotifier.get().shutdown((rerun ? "🔁 Rerun of failed scenarios: " : "🤖 Daily Automation Run: ") + passed + "/" + results.size() + " passed", Duration.ofSeconds(60));
         }
         System.out.println("🏁 Execution Finished.");
     }
 
-    public static void runFullTest(TestConfig config) {
-        ActionLibrary actionLib = new ActionLibrary();
-        String currentStep = "Initialization";
-
+    /** Combines the shard-*.json reports of a sharded run into one summary, results-store update and Slack digest. */
+    static void mergeShards(Path dir) {
+        System.out.println("🧩 Merging shard reports from " + dir);
+        ShardPlanner.Merged merged;
         try {
-            System.out.println("--------------------------------------------------");
-            System.out.println("🧵 Starting Scenario: " + config.scenarioFile + " [" + config.platform + "]");
+            merged = ShardPlanner.merge(dir);
+        } catch (Exception e) {
+            System.err.println("❌ Could not read shard reports: " + e.getMessage());
+            return;
+        }
+        List<ScenarioResult> results = merged.results();
+        printSummary(results, Duration.ofMillis(merged.wallMillis()));
+        ShardPlanner.writeMerged(Paths.get("target", "run-result.json"), merged);
+        ResultsStore.open().record(results);
 
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode pageObjects;
-            try (InputStream is = Engine.class.getClassLoader().getResourceAsStream(config.jsonFile)) {
-                if (is == null) throw new RuntimeException("❌ JSON File Not Found: " + config.jsonFile);
-                pageObjects = mapper.readTree(is);
+        SlackNotifier slack = SlackNotifier.get();
+        recordHistory(results, merged.wallMillis(), slack);
+        if (merged.shardsFound() < merged.shardsExpected() || merged.shardsFound() == 0) {
+            String msg = "⚠️ Only " + merged.shardsFound() + "/" + merged.shardsExpected() + " shard report(s) found, results are incomplete";
+            System.err.println(msg);
+            slack.post(msg);
+        }
+        for (ScenarioResult result : results) {
+            if (result.getDataset() != null) continue; // folded into rowSummaries
+            slack.post(result.isPassed() ? passedMessage(result) : failedMessage(result));
+        }
+        rowSummaries(results).forEach(slack::post);
+        long passed = results.stream().filter(ScenarioResult::isPassed).count();
+        slack.shutdown("🤖 Daily Automation Run: " + passed + "/" + results.size() + " passed", Duration.ofSeconds(60));
+        System.out.println("🏁 Merge Finished.");
+    }
+
+    // Value following a flag ("--shard 2/4"), or def when the flag is absent or has no value
+    static String argValue(String[] args, String flag, String def) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(flag) && !args[i + 1].startsWith("--")) return args[i + 1];
+        }
+        return def;
+    }
+
+    /**
+     * Compiles every scenario up front so a typo in a .txt or a missing page-object key is reported before
+     * any device session is opened. Invalid scenarios are recorded as failed and never scheduled.
+     */
+    static List<TestConfig> validate(List<TestConfig> configs, List<ScenarioResult> failures) {
+        List<TestConfig> valid = new ArrayList<>();
+        for (TestConfig config : configs) {
+            try {
+                config.compile();
+                valid.add(config);
+            } catch (ScenarioCompiler.ScenarioCompileException e) {
+                System.err.println("🚫 " + e.getMessage());
+                ScenarioResult result = new ScenarioResult(config);
+                result.failedStep = "Compilation";
+                result.error = e.getMessage();
+                failures.add(result);
+            }
+        }
+        System.out.println("🧪 Validated " + valid.size() + "/" + configs.size() + " scenarios");
+        return valid;
+    }
+
+    /**
+     * Replaces every config that has a data file with one config per row ("<label>_row<N>", ${name} filled in
+     * from the row). A data file that cannot be read fails its scenario like a compile error.
+     */
+    static List<TestConfig> expandRows(List<TestConfig> configs, List<ScenarioResult> failures) {
+        List<TestConfig> expanded = new ArrayList<>();
+        for (TestConfig config : configs) {
+            if (config.dataFile == null) {
+                expanded.add(config);
+                continue;
+            }
+            try {
+                List<Map<String, String>> rows = DataSource.load(config.dataFile);
+                for (int i = 0; i < rows.size(); i++) expanded.add(config.withRow(i + 1, rows.get(i)));
+                System.out.println("📋 " + config.label + ": " + rows.size() + " data row(s) from " + config.dataFile);
+            } catch (Exception e) {
+                System.err.println("🚫 " + config.label + ": " + e.getMessage());
+                ScenarioResult result = new ScenarioResult(config);
+                result.failedStep = "Data";
+                result.error = e.getMessage();
+                failures.add(result);
             }
+        }
+        return expanded;
+    }
 
-            List<String> steps;
-            try (InputStream is = Engine.class.getClassLoader().getResourceAsStream(config.scenarioFile)) {
-                if (is == null) throw new RuntimeException("❌ Scenario File Not Found: " + config.scenarioFile);
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-                    steps = reader.lines().collect(Collectors.toList());
-                }
+    /** True when two WEB/MWEB browsers can be open at the same time in this run (parallel mode or data rows). */
+    static boolean desktopShared(List<TestConfig> configs, boolean parallel) {
+        List<TestConfig> desktop = configs.stream().filter(c -> c.platform.equalsIgnoreCase("WEB") || c.platform.equalsIgnoreCase("MWEB")).toList();
+        if (desktop.size() < 2) return false;
+        if (parallel) {
+            return desktop.stream().map(c -> c.platform.toUpperCase()).distinct().count() > 1
+                    || ScenarioScheduler.limitFor(desktop.get(0).platform.toUpperCase()) > 1;
+        }
+        // Sequential runs only overlap the rows of one data set
+        return EngineConfig.getInt("data.parallelism", 4) > 1
+                && desktop.stream().anyMatch(c -> c.dataset != null && ScenarioScheduler.limitFor(c.platform.toUpperCase()) > 1);
+    }
+
+    // Consecutive rows of one data set form a batch; every other scenario is a batch of its own
+    static List<List<TestConfig>> batches(List<TestConfig> configs) {
+        List<List<TestConfig>> batches = new ArrayList<>();
+        for (TestConfig config : configs) {
+            List<TestConfig> last = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+            if (last != null && config.dataset != null && config.dataset.equals(last.get(0).dataset)) last.add(config);
+            else batches.add(new ArrayList<>(List.of(config)));
+        }
+        return batches;
+    }
+
+    static String failedMessage(ScenarioResult result) {
+        return "🚨 FAILED: " + result.label + " | Step: [" + result.getFailedStep() + "]\nError: " + result.getError();
+    }
+
+    static String passedMessage(ScenarioResult result) {
+        String msg = "✅ PASSED: " + result.label;
+        return result.getRegressions().isEmpty() ? msg : msg + "\n" + String.join("\n", result.getRegressions());
+    }
+
+    /**
+     * One line per data-driven scenario: rows passed, which rows failed and why the first one did. Rows never get a
+     * Slack line of their own, so a large data set cannot push these summaries out of the digest.
+     */
+    static List<String> rowSummaries(List<ScenarioResult> results) {
+        Map<String, List<ScenarioResult>> byDataset = results.stream().filter(r -> r.getDataset() != null)
+                .collect(Collectors.groupingBy(ScenarioResult::getDataset, LinkedHashMap::new, Collectors.toList()));
+        List<String> lines = new ArrayList<>();
+        byDataset.forEach((dataset, rows) -> {
+            List<Integer> failedRows = rows.stream().filter(r -> !r.isPassed()).map(ScenarioResult::getRow).sorted().collect(Collectors.toList());
+            String line = (failedRows.isEmpty() ? "📋 " : "📋🚨 ") + dataset + ": " + (rows.size() - failedRows.size()) + "/" + rows.size() + " rows passed";
+            if (!failedRows.isEmpty()) {
+                line += " | failed rows: " + failedRows.stream().limit(20).map(String::valueOf).collect(Collectors.joining(", "))
+                        + (failedRows.size() > 20 ? ", …" : "");
+                ScenarioResult first = rows.stream().filter(r -> r.getRow() == failedRows.get(0)).findFirst().orElseThrow();
+                line += "\n   Row " + first.getRow() + " | Step: [" + first.getFailedStep() + "] Error: " + first.getError();
             }
+            lines.add(line);
+        });
+        return lines;
+    }
+
+    /** Flags a slow run overall, then appends it to the perf history (after the comparison, not before). */
+    static void recordHistory(List<ScenarioResult> results, long wallMillis, SlackNotifier slack) {
+        PerfHistory history = PerfHistory.get();
+        history.runRegression(wallMillis).ifPresent(r -> {
+            System.out.println(r);
+            slack.post(r);
+        });
+        history.append(results, wallMillis);
+    }
+
+    static void printSummary(List<ScenarioResult> results, Duration wallTime) {
+        long passed = results.stream().filter(ScenarioResult::isPassed).count();
+        long sumMillis = results.stream().mapToLong(ScenarioResult::getDurationMillis).sum();
+        double wallSeconds = Math.max(wallTime.toMillis(), 1) / 1000.0;
+
+        System.out.println("==================================================");
+        System.out.println("📊 Run Summary: " + results.size() + " scenarios | " + passed + " passed | " + (results.size() - passed) + " failed");
+        for (ScenarioResult result : results) {
+            System.out.println("   " + result.statusLine());
+            result.getRegressions().forEach(r -> System.out.println("      " + r));
+        }
+        rowSummaries(results).forEach(line -> System.out.println("   " + line));
+        System.out.println(String.format("   ⏱️ Wall time %.1fs vs sum of scenarios %.1fs (%.2fx)",
+                wallSeconds, sumMillis / 1000.0, (sumMillis / 1000.0) / wallSeconds));
+        long savedMillis = results.stream().mapToLong(ScenarioResult::getSavedSleepMillis).sum();
+        if (savedMillis > 0) System.out.println(String.format("   💤 Smart waits skipped %.1fs of fixed sleeps", savedMillis / 1000.0));
+    }
+
+    public static ScenarioResult runFullTest(TestConfig config) {
+        ActionLibrary actionLib = new ActionLibrary(sessionPool);
+        RunMetrics metrics = RunMetrics.get();
+        ScenarioResult result = new ScenarioResult(config);
+        result.failedStep = "Initialization";
+        long start = System.nanoTime();
+
+        try {
+            System.out.println("--------------------------------------------------");
+            System.out.println("🧵 Starting Scenario: " + config.label + " [" + config.platform + "]");
+
+            // Compiled (or fetched from cache) before any driver is launched
+            ScenarioPlan plan = config.compile();
+            int from = journal == null ? 0 : journal.resumeIndex(config.label, plan);
+            if (from > 0) {
+                result.resumedFrom = ((ScenarioPlan.Checkpoint) plan.steps().get(from)).name();
+                System.out.println("↪️ Resuming " + config.label + " from checkpoint [" + result.resumedFrom + "]");
+            }
+            if (journal != null) journal.scenarioStarted(config.label, plan, from);
 
             // 🚀 THE OMNI-PLATFORM LAUNCHER
+            long launchStart = System.nanoTime();
             if (config.platform.equalsIgnoreCase("WEB")) {
                 actionLib.openBrowser();
             } else if (config.platform.equalsIgnoreCase("MWEB")) {
@@ -70,47 +336,148 @@ public class Engine {
                 actionLib.openAndroidEmulator();
             } else if (config.platform.equalsIgnoreCase("ANDROID_REAL_DEVICE")) {
                 actionLib.openAndroidRealDevice();
+            } else if (config.platform.equalsIgnoreCase("REPLAY")) {
+                actionLib.openReplay(config.scenarioFile);
             }
 
-            actionLib.startRecording();
+            metrics.recordPhase("launch", config.label, launchStart);
 
-            for (String step : steps) {
-                if (step.trim().isEmpty() || step.startsWith("#") || step.startsWith("//")) continue;
-                currentStep = step.trim();
-                executeStep(actionLib, pageObjects, currentStep);
-            }
+            actionLib.startRecording(config.label);
+
+            executePlan(actionLib, plan, result, from);
 
-            String msg = "✅ PASSED: " + config.scenarioFile;
-            System.out.println(msg);
-            actionLib.sendSlackNotification(msg);
+            result.passed = true;
+            System.out.println("✅ PASSED: " + config.label);
 
         } catch (Exception e) {
-            String msg = "🚨 FAILED: " + config.scenarioFile + " | Step: [" + currentStep + "]\nError: " + e.getMessage();
+            result.error = e.getMessage();
+            String msg = failedMessage(result);
             System.err.println(msg);
-            actionLib.sendSlackNotification(msg);
+            if (config.dataset == null) actionLib.sendSlackNotification(msg);
         } finally {
-            actionLib.stopRecording(config.scenarioFile);
+            result.savedSleepMillis = actionLib.getSavedSleepMillis();
+            if (actionLib.getSnapshotHits() > 0) System.out.println("   📸 " + actionLib.getSnapshotHits() + " Verify step(s) answered from a page-source snapshot");
+            long stopStart = System.nanoTime();
+            actionLib.stopRecording(config.label, result.passed);
+            metrics.recordPhase("recording_stop", config.label, stopStart);
+            long teardownStart = System.nanoTime();
             actionLib.quit();
+            metrics.recordPhase("teardown", config.label, teardownStart);
+            result.durationMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            if (journal != null) journal.scenarioFinished(result);
+            if (result.passed) {
+                // Posted once the duration is final, so it can carry the slowdowns against past runs
+                result.regressions = PerfHistory.get().regressions(result);
+                result.regressions.forEach(r -> System.out.println("   " + r));
+                if (config.dataset == null) actionLib.sendSlackNotification(passedMessage(result));
+            }
         }
+        return result;
     }
 
-    public static void executeStep(ActionLibrary lib, JsonNode pageObjects, String step) throws Exception {
-        if (step.equalsIgnoreCase("Open Browser")) return;
-        if (step.startsWith("Navigate to")) { lib.navigate(step.substring(12).trim()); return; }
-        if (step.startsWith("Wait for")) { lib.waitFor(Integer.parseInt(step.replaceAll("\\D", ""))); return; }
-        if (step.startsWith("Tap on") || step.startsWith("Click on")) { lib.tap(getObj(pageObjects, step.replace("Tap on", "").replace("Click on", "").trim())); return; }
-        if (step.startsWith("Type")) { lib.type(step.split(" in ")[0].substring(5), getObj(pageObjects, step.split(" in ")[1].trim())); return; }
-        if (step.startsWith("Verify")) { lib.verifyVisible(getObj(pageObjects, step.substring(7).replace(" is visible", "").trim())); return; }
-        throw new Exception("Unknown Command: " + step);
+    static void executePlan(ActionLibrary actionLib, ScenarioPlan plan, ScenarioResult result) throws Exception {
+        executePlan(actionLib, plan, result, 0);
+    }
+
+    /**
+     * Runs the steps of a compiled plan from index "from" on, timing each one. result.failedStep tracks the step
+     * in flight and is cleared once the whole plan has passed.
+     */
+    static void executePlan(ActionLibrary actionLib, ScenarioPlan plan, ScenarioResult result, int from) throws Exception {
+        RunMetrics metrics = RunMetrics.get();
+        List<ScenarioPlan.Step> steps = plan.steps();
+        // Repeated step texts are timed as "<text>", "<text> #2", ... in plan order
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (int i = from; i < steps.size(); i++) {
+            ScenarioPlan.Step step = steps.get(i);
+            result.failedStep = step.text();
+            long stepStart = System.nanoTime();
+            long commandsBefore = actionLib.getCommandCount();
+            long waitBefore = actionLib.getWaitMillis();
+            boolean ok = false;
+            try {
+                step.execute(actionLib);
+                ok = true;
+            } finally {
+                metrics.recordStep(result.label, step, stepStart,
+                        actionLib.getCommandCount() - commandsBefore, actionLib.getWaitMillis() - waitBefore, ok);
+                long stepMillis = (System.nanoTime() - stepStart) / 1_000_000;
+                actionLib.captureStep(step, ok, stepMillis);
+                if (ok) {
+                    int n = occurrences.merge(step.text(), 1, Integer::sum);
+                    result.stepMillis.put(n == 1 ? step.text() : step.text() + " #" + n, stepMillis);
+                }
+                if (journal != null) {
+                    journal.step(result.label, i, step, ok, stepMillis);
+                    if (ok && step instanceof ScenarioPlan.Checkpoint checkpoint) journal.checkpoint(result.label, i, checkpoint.name());
+                }
+            }
+        }
+        result.failedStep = null;
     }
 
-    private static String getObj(JsonNode pageObjects, String key) throws Exception {
-        if (!pageObjects.has(key)) throw new Exception("Object '" + key + "' not found in JSON.");
-        return pageObjects.get(key).asText();
+    public static void executeStep(ActionLibrary lib, JsonNode pageObjects, String step) throws Exception {
+        ScenarioPlan.Step compiled = ScenarioCompiler.compileStep(step, 0, pageObjects);
+        if (compiled != null) compiled.execute(lib);
     }
 
     static class TestConfig {
         String jsonFile, scenarioFile, platform;
-        TestConfig(String j, String s, String p) { jsonFile=j; scenarioFile=s; platform=p; }
+        // Used for video names and reports; unique within a run so parallel scenarios never overwrite each other
+        String label;
+        // Inline page objects + scenario (daemon submissions); null means load jsonFile/scenarioFile from the classpath
+        byte[] pageObjects, scenarioText;
+        // Data-driven scenarios: CSV/JSON rows on the classpath; each row runs the scenario with its ${name} values
+        String dataFile;
+        // Set on the per-row configs expandRows() creates: the scenario's own label, 1-based row and its values
+        String dataset;
+        int row;
+        Map<String, String> params;
+        TestConfig(String j, String s, String p) { jsonFile=j; scenarioFile=s; platform=p; label=s.replace(".txt", ""); }
+        TestConfig(String j, String s, String p, String data) { this(j, s, p); dataFile=data; }
+
+        TestConfig withLabel(String l) {
+            TestConfig c = new TestConfig(jsonFile, scenarioFile, platform, dataFile);
+            c.label = l;
+            c.pageObjects = pageObjects;
+            c.scenarioText = scenarioText;
+            c.dataset = dataset;
+            c.row = row;
+            c.params = params;
+            return c;
+        }
+
+        static TestConfig parse(String spec) {
+            String[] parts = spec.split(",");
+            if (parts.length < 3 || parts.length > 4) throw new IllegalArgumentException("Expected json,txt,PLATFORM[,dataFile] but got: " + spec);
+            return new TestConfig(parts[0].trim(), parts[1].trim(), parts[2].trim().toUpperCase(), parts.length == 4 ? parts[3].trim() : null);
+        }
+
+        TestConfig withRow(int r, Map<String, String> values) {
+            TestConfig c = withLabel(label + "_row" + r);
+            c.dataset = label;
+            c.row = r;
+            c.params = values;
+            return c;
+        }
+
+        ScenarioPlan compile() throws ScenarioCompiler.ScenarioCompileException {
+            if (scenarioText == null) return ScenarioCompiler.compileResources(jsonFile, scenarioFile, params);
+            return ScenarioCompiler.compile(scenarioFile, pageObjects,
+                    params == null ? scenarioText : ScenarioCompiler.substitute(scenarioFile, scenarioText, params));
+        }
+
+        static List<TestConfig> withUniqueLabels(List<TestConfig> configs) {
+            Map<String, Long> counts = configs.stream().collect(Collectors.groupingBy(c -> c.label, Collectors.counting()));
+            Map<String, Integer> used = new HashMap<>();
+            List<TestConfig> unique = new ArrayList<>();
+            for (TestConfig config : configs) {
+                String l = counts.get(config.label) > 1 ? config.label + "_" + config.platform : config.label;
+                int n = used.merge(l, 1, Integer::sum);
+                if (n > 1) l = l + "_" + n;
+                unique.add(l.equals(config.label) ? config : config.withLabel(l));
+            }
+            return unique;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Central lookup for engine knobs.
+ * Order: JVM system property (-Dkey=value) -> config.properties on the classpath -> environment variable
+ * (KEY_WITH_UNDERSCORES) -> the supplied default.
+ */
+public final class EngineConfig {
+    private static final Properties FILE_PROPS = load();
+
+    private EngineConfig() {}
+
+    private static Properties load() {
+        Properties props = new Properties();
+        try (InputStream input = EngineConfig.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input != null) props.load(input);
+        } catch (Exception e) {}
+        return props;
+    }
+
+    public static String get(String key, String def) {
+        String value = System.getProperty(key);
+        if (value == null || value.isEmpty()) value = FILE_PROPS.getProperty(key);
+        if (value == null || value.isEmpty()) value = System.getenv(key.toUpperCase().replace('.', '_').replace('-', '_'));
+        return (value == null || value.isEmpty()) ? def : value.trim();
+    }
+
+    public static int getInt(String key, int def) {
+        try { return Integer.parseInt(get(key, String.valueOf(def))); } catch (NumberFormatException e) { return def; }
+    }
+
+    public static long getLong(String key, long def) {
+        try { return Long.parseLong(get(key, String.valueOf(def))); } catch (NumberFormatException e) { return def; }
+    }
+
+    public static boolean getBoolean(String key, boolean def) {
+        return Boolean.parseBoolean(get(key, String.valueOf(def)));
+    }
+}
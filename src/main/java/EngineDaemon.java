@@ -0,0 +1,315 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import io.appium.java_client.ios.options.XCUITestOptions;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * "Engine --daemon": a resident engine on 127.0.0.1:"daemon.port" (default 7070) so repeated runs skip Maven,
+ * JVM start-up, class loading and (with the session pool, on by default here) driver start-up.
+ *
+ *   POST /scenarios  {"name":..,"platform":..,"pageObjects":{..} or "..","scenario":".."}
+ *                    validated, queued on the shared {@link ScenarioScheduler}; the response streams NDJSON
+ *                    events: queued, started, result (or rejected with the compile errors, HTTP 422)
+ *   GET  /health     queue counters
+ *   POST /shutdown   stops accepting, drains running scenarios, videos and Slack, then exits
+ *
+ * Each finished submission records its duration in the {@link ResultsStore}. Slack lines from all submissions
+ * share one digest, flushed every "daemon.slackFlushSec" (default 60) under a neutral header, since lines of
+ * overlapping scenarios cannot be told apart. Run metrics are exported and reset every "daemon.metricsWindow"
+ * finished scenarios and once more on shutdown.
+ */
+final class EngineDaemon {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SLACK_HEADER = "🛰️ Engine daemon results";
+
+    private final HttpServer server;
+    private final ScenarioScheduler scheduler = new ScenarioScheduler();
+    private final ExecutorService handlers = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "daemon-http");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ScheduledExecutorService slackFlusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "daemon-slack");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Set<CompletableFuture<ScenarioResult>> inFlight = ConcurrentHashMap.newKeySet();
+    // Results of the current metrics window; exported with RunMetrics and cleared every "daemon.metricsWindow"
+    // (default 200) finished scenarios, so a long-lived daemon never holds more than one window of either
+    private final Queue<ScenarioResult> results = new ConcurrentLinkedQueue<>();
+    private final int metricsWindow = Math.max(1, EngineConfig.getInt("daemon.metricsWindow", 200));
+    private final AtomicInteger windowSize = new AtomicInteger();
+    private long windowStartNanos = System.nanoTime();
+    private final AtomicInteger ids = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger passed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final CountDownLatch stopRequested = new CountDownLatch(1);
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile boolean accepting = true;
+
+    private EngineDaemon(InetSocketAddress address) throws IOException {
+        server = HttpServer.create(address, 0);
+        server.setExecutor(handlers);
+        server.createContext("/scenarios", this::handleSubmit);
+        server.createContext("/health", this::handleHealth);
+        server.createContext("/shutdown", this::handleShutdown);
+        long flushSec = Math.max(1, EngineConfig.getLong("daemon.slackFlushSec", 60));
+        slackFlusher.scheduleAtFixedRate(() -> SlackNotifier.get().flush(SLACK_HEADER), flushSec, flushSec, TimeUnit.SECONDS);
+    }
+
+    static void run(int port) throws Exception {
+        if (Engine.sessionPool == null && EngineConfig.getBoolean("daemon.reuseSessions", true)) {
+            System.out.println("♻️ Session reuse enabled");
+            Engine.sessionPool = new SessionPool();
+        }
+        ActionLibrary.sharedDesktop = true; // submissions overlap freely
+        EngineDaemon daemon = new EngineDaemon(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // SIGTERM: same orderly drain as POST /shutdown
+            daemon.stopRequested.countDown();
+            try { daemon.stopped.await(EngineConfig.getLong("daemon.drainTimeoutSec", 600) + 60, TimeUnit.SECONDS); } catch (InterruptedException e) {}
+        }, "daemon-shutdown"));
+        daemon.server.start();
+        System.out.println("🛰️ Engine daemon listening on http://" + daemon.server.getAddress().getHostString() + ":" + daemon.server.getAddress().getPort());
+        daemon.stopRequested.await();
+        daemon.drain();
+    }
+
+    // ==========================================
+    // 📥 SUBMISSIONS
+    // ==========================================
+    private void handleSubmit(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, MAPPER.createObjectNode().put("error", "POST a scenario to /scenarios"));
+                return;
+            }
+            if (!accepting) {
+                respond(exchange, 503, MAPPER.createObjectNode().put("error", "Daemon is shutting down"));
+                return;
+            }
+
+            Engine.TestConfig config;
+            try (InputStream body = exchange.getRequestBody()) {
+                config = toConfig(MAPPER.readTree(body));
+            } catch (IllegalArgumentException | IOException e) {
+                respond(exchange, 400, MAPPER.createObjectNode().put("error", e.getMessage()));
+                return;
+            }
+            try {
+                config.compile();
+            } catch (ScenarioCompiler.ScenarioCompileException e) {
+                ObjectNode rejected = event("rejected", config);
+                e.getErrors().forEach(rejected.putArray("errors")::add);
+                respond(exchange, 422, rejected);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            CompletableFuture<Void> started = new CompletableFuture<>();
+            queued.incrementAndGet();
+            CompletableFuture<ScenarioResult> result = scheduler.submit(config, c -> {
+                queued.decrementAndGet();
+                running.incrementAndGet();
+                started.complete(null);
+                try {
+                    return Engine.runFullTest(c);
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+            inFlight.add(result);
+            result.whenComplete((r, e) -> inFlight.remove(result));
+
+            // The client may hang up at any point; the scenario still runs to completion
+            boolean connected = write(out, event("queued", config).put("queueDepth", queued.get()));
+            CompletableFuture.anyOf(started, result).handle((v, e) -> null).join();
+            if (started.isDone() && connected) connected = write(out, event("started", config));
+            ScenarioResult outcome;
+            try {
+                outcome = result.join();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                if (connected) write(out, event("error", config).put("error", String.valueOf(e.getCause())));
+                return;
+            }
+            finished(outcome);
+            ObjectNode resultEvent = event("result", config).put("status", outcome.statusLine());
+            resultEvent.setAll((ObjectNode) MAPPER.valueToTree(outcome.toMap()));
+            if (connected) write(out, resultEvent);
+        }
+    }
+
+    private Engine.TestConfig toConfig(JsonNode request) {
+        if (request == null || !request.isObject()) throw new IllegalArgumentException("Body must be a JSON object");
+        String name = text(request, "name");
+        String platform = text(request, "platform").toUpperCase();
+        JsonNode pageObjects = request.path("pageObjects");
+        String scenario = text(request, "scenario");
+        if (!name.matches("[A-Za-z0-9_.-]+")) throw new IllegalArgumentException("'name' is required ([A-Za-z0-9_.-]+)");
+        if (platform.isEmpty()) throw new IllegalArgumentException("'platform' is required");
+        if (!Engine.PLATFORMS.contains(platform)) throw new IllegalArgumentException("Unknown platform '" + platform + "', expected one of " + Engine.PLATFORMS);
+        if (scenario.isEmpty()) throw new IllegalArgumentException("'scenario' (the .txt content) is required");
+        if (pageObjects.isMissingNode()) throw new IllegalArgumentException("'pageObjects' (the .json content) is required");
+
+        Engine.TestConfig config = new Engine.TestConfig(name + ".json", name + ".txt", platform)
+                .withLabel(name + "-" + ids.incrementAndGet()); // unique, so concurrent runs of one scenario keep separate videos
+        config.pageObjects = (pageObjects.isTextual() ? pageObjects.textValue() : pageObjects.toString()).getBytes(StandardCharsets.UTF_8);
+        config.scenarioText = scenario.getBytes(StandardCharsets.UTF_8);
+        return config;
+    }
+
+    // Missing and non-string fields read as "", so they fail the checks above
+    private static String text(JsonNode request, String field) {
+        String value = request.path(field).textValue();
+        return value == null ? "" : value;
+    }
+
+    private void finished(ScenarioResult result) {
+        (result.isPassed() ? passed : failed).incrementAndGet();
+        results.add(result);
+        if (windowSize.incrementAndGet() >= metricsWindow) exportMetrics();
+        System.out.println("   " + result.statusLine());
+        ResultsStore.open().record(List.of(result));
+    }
+
+    /** Writes target/run-report.json and metrics.prom for the window that just closed, then starts a new one. */
+    private synchronized void exportMetrics() {
+        List<ScenarioResult> window = new ArrayList<>();
+        ScenarioResult next;
+        while ((next = results.poll()) != null) window.add(next);
+        windowSize.addAndGet(-window.size());
+        if (window.isEmpty()) return;
+        long now = System.nanoTime();
+        RunMetrics.get().export(Paths.get("target"), window, (now - windowStartNanos) / 1_000_000);
+        RunMetrics.get().reset();
+        windowStartNanos = now;
+    }
+
+    // ==========================================
+    // 🩺 HEALTH & SHUTDOWN
+    // ==========================================
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            respond(exchange, 200, MAPPER.createObjectNode().put("status", accepting ? "ok" : "draining")
+                    .put("queued", queued.get()).put("running", running.get()).put("passed", passed.get()).put("failed", failed.get()));
+        }
+    }
+
+    private void handleShutdown(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, MAPPER.createObjectNode().put("error", "POST to /shutdown"));
+                return;
+            }
+            respond(exchange, 202, MAPPER.createObjectNode().put("status", "draining").put("inFlight", inFlight.size()));
+        }
+        stopRequested.countDown();
+    }
+
+    /** Lets queued and running scenarios finish, then settles videos, metrics and Slack. */
+    private void drain() {
+        accepting = false;
+        System.out.println("🛑 Daemon draining " + inFlight.size() + " scenario(s)...");
+        long timeoutSec = EngineConfig.getLong("daemon.drainTimeoutSec", 600);
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).get(timeoutSec, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("   ⚠️ Scenarios still running after " + timeoutSec + "s: " + inFlight.size());
+        }
+        server.stop(1); // gives the last result streams a moment to flush
+        scheduler.close();
+        if (Engine.sessionPool != null) Engine.sessionPool.close();
+        List<String> failedVideos = VideoPipeline.get().awaitCompletion(EngineConfig.getLong("video.awaitTimeoutSec", 600));
+        failedVideos.forEach(f -> System.err.println("   ❌ " + f));
+        exportMetrics();
+        slackFlusher.shutdownNow();
+        SlackNotifier.get().shutdown(SLACK_HEADER, Duration.ofSeconds(60));
+        System.out.println("🏁 Daemon stopped: " + passed.get() + " passed, " + failed.get() + " failed");
+        stopped.countDown();
+    }
+
+    // ==========================================
+    // 🔥 APPCDS TRAINING
+    // ==========================================
+    /**
+     * "Engine --warmup": loads the classes a run needs (compiler, Jackson, Selenium/Appium options and drivers,
+     * HTTP server and client, XML) without touching a device, then exits. Run with -XX:ArchiveClassesAtExit to
+     * produce the AppCDS archive (scripts/build-cds.sh).
+     */
+    static void warmUp() throws Exception {
+        ScenarioCompiler.compile("warmup", "{\"A\":\"xpath=//a\",\"B\":\"accessId=b\",\"C\":\"id=c\",\"D\":\"name=d\"}".getBytes(StandardCharsets.UTF_8),
+                "Open Browser\nNavigate to about:blank\nCheckpoint start\nWait for 1\nTap on A\nType x in B\nVerify C\nClick on D\n".getBytes(StandardCharsets.UTF_8));
+        new ChromeOptions().addArguments("--headless=new");
+        new XCUITestOptions().setNoReset(true);
+        new UiAutomator2Options().setNoReset(true);
+        for (String name : List.of("org.openqa.selenium.chrome.ChromeDriver", "org.openqa.selenium.remote.RemoteWebDriver",
+                "io.appium.java_client.ios.IOSDriver", "io.appium.java_client.android.AndroidDriver",
+                "org.openqa.selenium.support.ui.ExpectedConditions", "org.monte.screenrecorder.ScreenRecorder")) {
+            try { Class.forName(name); } catch (Throwable e) { System.err.println("   ⚠️ Warm-up could not load " + name + ": " + e); }
+        }
+        PageSnapshot.parse("<hierarchy><a visible=\"true\"/></hierarchy>").isVisible(org.openqa.selenium.By.xpath("//a"));
+        MAPPER.writeValueAsString(MAPPER.createObjectNode().put("warm", true));
+        HttpServer probe = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        probe.start();
+        probe.stop(0);
+        HttpClient.newHttpClient();
+        System.out.println("🔥 Warm-up done");
+    }
+
+    // ==========================================
+    // 🧰 HELPERS
+    // ==========================================
+    private static ObjectNode event(String type, Engine.TestConfig config) {
+        return MAPPER.createObjectNode().put("event", type).put("label", config.label).put("platform", config.platform);
+    }
+
+    private static void respond(HttpExchange exchange, int status, ObjectNode body) throws IOException {
+        byte[] bytes = (body.toString() + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static boolean write(OutputStream out, ObjectNode event) {
+        try {
+            out.write((event.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory ring buffer of the last "replay.frames" (default 20) screenshots of a scenario, each tagged with the
+ * step it followed. Used instead of a full-session video when "recording.mode=failures": nothing touches the disk
+ * unless the scenario fails, in which case {@link VideoPipeline#submitReplay} writes the frames (and optionally a
+ * clip) to target/failures/<label>/. Memory is also capped by "replay.maxBytes" (default 32 MB); the oldest
+ * frames are dropped first. One buffer per scenario thread, not thread-safe.
+ */
+final class FailureReplay {
+    record Frame(byte[] png, int line, String text, boolean ok, long millis, Instant at) {}
+
+    private final int capacity;
+    private final long maxBytes;
+    private final ArrayDeque<Frame> frames;
+    private long bytes;
+    private int dropped;
+
+    FailureReplay(int capacity, long maxBytes) {
+        this.capacity = Math.max(1, capacity);
+        this.maxBytes = Math.max(1, maxBytes);
+        this.frames = new ArrayDeque<>(this.capacity);
+    }
+
+    static FailureReplay fromConfig() {
+        return new FailureReplay(EngineConfig.getInt("replay.frames", 20), EngineConfig.getLong("replay.maxBytes", 32L << 20));
+    }
+
+    void add(Frame frame) {
+        frames.addLast(frame);
+        bytes += frame.png().length;
+        while (frames.size() > capacity || (bytes > maxBytes && frames.size() > 1)) {
+            bytes -= frames.removeFirst().png().length;
+            dropped++;
+        }
+    }
+
+    /** Oldest first. */
+    List<Frame> frames() { return new ArrayList<>(frames); }
+
+    /** Frames that fell out of the buffer; the first kept frame is preceded by this many steps. */
+    int dropped() { return dropped; }
+
+    boolean isEmpty() { return frames.isEmpty(); }
+}
@@ -0,0 +1,91 @@
+import org.openqa.selenium.By;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One getPageSource() hierarchy parsed into a DOM so XPath locators can be evaluated locally instead of on the
+ * device. A snapshot is only valid until the next interaction; {@link ActionLibrary} throws it away after every
+ * tap/type/navigate/wait. Not thread-safe: one snapshot belongs to one scenario thread.
+ */
+final class PageSnapshot {
+    // JAXP factories are not thread-safe and scenarios parse snapshots in parallel, so each thread keeps its own
+    private static final ThreadLocal<DocumentBuilderFactory> FACTORY = ThreadLocal.withInitial(PageSnapshot::newFactory);
+    private static final ThreadLocal<XPathFactory> XPATHS = ThreadLocal.withInitial(XPathFactory::newInstance);
+
+    private final Document document;
+    private final Map<String, XPathExpression> compiled = new HashMap<>();
+
+    private PageSnapshot(Document document) {
+        this.document = document;
+    }
+
+    static PageSnapshot parse(String pageSource) throws Exception {
+        return new PageSnapshot(FACTORY.get().newDocumentBuilder().parse(new InputSource(new StringReader(pageSource))));
+    }
+
+    /** Only XPath locators can be answered from the hierarchy; everything else needs the device. */
+    static boolean canEvaluate(By by) {
+        return xpathOf(by) != null;
+    }
+
+    /** True when the locator matches at least one element the hierarchy marks as visible. */
+    boolean isVisible(By by) throws Exception {
+        return firstVisible(by) != null;
+    }
+
+    Element firstVisible(By by) throws Exception {
+        NodeList nodes = findAll(by);
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node instanceof Element element && isDisplayed(element)) return element;
+        }
+        return null;
+    }
+
+    NodeList findAll(By by) throws Exception {
+        String xpath = xpathOf(by);
+        if (xpath == null) throw new IllegalArgumentException("Not an XPath locator: " + by);
+        XPathExpression expression = compiled.get(xpath);
+        if (expression == null) {
+            expression = XPATHS.get().newXPath().compile(xpath);
+            compiled.put(xpath, expression);
+        }
+        return (NodeList) expression.evaluate(document, XPathConstants.NODESET);
+    }
+
+    // iOS marks hidden nodes visible="false", UiAutomator2 uses displayed="false"
+    static boolean isDisplayed(Element element) {
+        return !"false".equals(element.getAttribute("visible")) && !"false".equals(element.getAttribute("displayed"));
+    }
+
+    private static String xpathOf(By by) {
+        if (by instanceof By.Remotable remotable) {
+            By.Remotable.Parameters params = remotable.getRemoteParameters();
+            if ("xpath".equals(params.using())) return String.valueOf(params.value());
+        }
+        return null;
+    }
+
+    private static DocumentBuilderFactory newFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        try {
+            // Page sources are untrusted input: no DTDs, no external entities
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        } catch (Exception e) {}
+        factory.setExpandEntityReferences(false);
+        return factory;
+    }
+}
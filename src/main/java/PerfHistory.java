@@ -0,0 +1,245 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Append-only duration history ("results.dir", default results/history.ndjson; cached by CI next to
+ * durations.json), one JSON line per run and per scenario with the time of every step that passed.
+ *
+ * Baselines are the last "perf.window" (default 20) samples of a run, scenario or step. A new duration counts as a
+ * regression only when it is both statistically unusual and big enough to matter:
+ *   robust z = 0.6745 * (x - median) / MAD  >= "perf.zThreshold" (default 3.5),
+ *   x >= median * (1 + "perf.minRatio") (default 0.3) and x - median >= "perf.minDeltaMillis" (default 500),
+ * with at least "perf.minSamples" (default 5) samples. Failed scenarios are not baselined as a whole (they stop
+ * early), but the steps they passed are.
+ *
+ * Once the file holds more than twice the lines a full window of every scenario needs, it is rewritten with only
+ * the events that still feed a baseline, so it stays bounded however many runs append to it.
+ */
+final class PerfHistory {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    static final String FILE_NAME = "history.ndjson";
+    static final String RUN_KEY = "run";
+    private static PerfHistory shared;
+
+    private final Path file;
+    private final int window;
+    private final int minSamples;
+    private final double zThreshold;
+    private final double minRatio;
+    private final long minDeltaMillis;
+    // "run", "<scenario>" or "<scenario>\n<step>" -> last window durations, oldest first
+    private final Map<String, ArrayDeque<Long>> samples = new HashMap<>();
+    private final Set<String> scenarios = new HashSet<>();
+    private long lines;
+    // Lines the last compaction kept; the file must double past this before it is compacted again
+    private long compactedLines;
+
+    PerfHistory(Path dir, int window, int minSamples, double zThreshold, double minRatio, long minDeltaMillis) {
+        this.file = dir.resolve(FILE_NAME);
+        this.window = Math.max(1, window);
+        this.minSamples = Math.max(2, minSamples);
+        this.zThreshold = zThreshold;
+        this.minRatio = minRatio;
+        this.minDeltaMillis = minDeltaMillis;
+        load();
+    }
+
+    /** Process-wide history, loaded once; scenarios of a run (and daemon submissions) compare against it. */
+    static synchronized PerfHistory get() {
+        if (shared == null) {
+            shared = new PerfHistory(Paths.get(EngineConfig.get("results.dir", "results")), EngineConfig.getInt("perf.window", 20),
+                    EngineConfig.getInt("perf.minSamples", 5), Double.parseDouble(EngineConfig.get("perf.zThreshold", "3.5")),
+                    Double.parseDouble(EngineConfig.get("perf.minRatio", "0.3")), EngineConfig.getLong("perf.minDeltaMillis", 500));
+        }
+        return shared;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) return;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                JsonNode event;
+                try {
+                    event = MAPPER.readTree(line);
+                } catch (IOException e) {
+                    continue; // torn last line of a killed run
+                }
+                if (event != null) remember(event);
+            }
+        } catch (IOException e) {
+            System.err.println("   ⚠️ Ignoring unreadable perf history " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void remember(JsonNode event) {
+        if ("scenario".equals(event.path("event").asText())) scenarios.add(event.path("scenario").asText());
+        samplesOf(event).forEach(this::add);
+    }
+
+    // The baseline key -> duration pairs one history line contributes
+    private static Map<String, Long> samplesOf(JsonNode event) {
+        Map<String, Long> found = new LinkedHashMap<>();
+        if (RUN_KEY.equals(event.path("event").asText())) {
+            found.put(RUN_KEY, event.path("wallMillis").asLong());
+        } else if ("scenario".equals(event.path("event").asText())) {
+            String scenario = event.path("scenario").asText();
+            if (event.path("passed").asBoolean()) found.put(scenario, event.path("millis").asLong());
+            event.path("steps").fields().forEachRemaining(e -> found.put(scenario + "\n" + e.getKey(), e.getValue().asLong()));
+        }
+        found.values().removeIf(millis -> millis <= 0);
+        return found;
+    }
+
+    private void add(String key, long millis) {
+        ArrayDeque<Long> values = samples.computeIfAbsent(key, k -> new ArrayDeque<>());
+        values.addLast(millis);
+        while (values.size() > window) values.removeFirst();
+    }
+
+    // ==========================================
+    // 🐢 REGRESSIONS
+    // ==========================================
+    record Baseline(long median, long p95, double mad, int samples) {}
+
+    synchronized Optional<Baseline> baseline(String key) {
+        ArrayDeque<Long> values = samples.get(key);
+        if (values == null || values.size() < minSamples) return Optional.empty();
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        long median = ResultsStore.median(sorted);
+        List<Long> deviations = new ArrayList<>();
+        for (long v : sorted) deviations.add(Math.abs(v - median));
+        long p95 = sorted.get(Math.max(0, (int) Math.ceil(0.95 * sorted.size()) - 1));
+        return Optional.of(new Baseline(median, p95, ResultsStore.median(deviations), sorted.size()));
+    }
+
+    /** Robust z-score of millis against the baseline; a flat baseline (MAD 0) makes any slowdown infinite. */
+    static double zScore(long millis, Baseline baseline) {
+        if (baseline.mad() == 0) return millis > baseline.median() ? Double.POSITIVE_INFINITY : 0;
+        return 0.6745 * (millis - baseline.median()) / baseline.mad();
+    }
+
+    boolean isRegression(long millis, Baseline baseline) {
+        return millis - baseline.median() >= minDeltaMillis && millis >= baseline.median() * (1 + minRatio)
+                && zScore(millis, baseline) >= zThreshold;
+    }
+
+    /** Slowdowns of a scenario and its steps against their baselines, scenario first then slowest step first. */
+    List<String> regressions(ScenarioResult result) {
+        List<String> found = new ArrayList<>();
+        if (result.isPassed()) check(result.label, result.getDurationMillis()).ifPresent(b -> found.add(describe("total", result.getDurationMillis(), b)));
+        List<Map.Entry<String, Long>> steps = new ArrayList<>(result.getStepMillis().entrySet());
+        steps.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        for (Map.Entry<String, Long> step : steps) {
+            check(result.label + "\n" + step.getKey(), step.getValue()).ifPresent(b -> found.add(describe("[" + step.getKey() + "]", step.getValue(), b)));
+        }
+        return found;
+    }
+
+    Optional<String> runRegression(long wallMillis) {
+        return check(RUN_KEY, wallMillis).map(b -> describe("run wall time", wallMillis, b));
+    }
+
+    private Optional<Baseline> check(String key, long millis) {
+        return baseline(key).filter(b -> isRegression(millis, b));
+    }
+
+    private static String describe(String what, long millis, Baseline b) {
+        double z = zScore(millis, b);
+        return String.format("🐢 %s %.1fs vs median %.1fs (p95 %.1fs, %s, n=%d)", what, millis / 1000.0, b.median() / 1000.0,
+                b.p95() / 1000.0, Double.isInfinite(z) ? "flat baseline" : String.format("z=%.1f", z), b.samples());
+    }
+
+    // ==========================================
+    // ✍️ APPEND
+    // ==========================================
+    /** Appends this run to the history file and to the in-memory baselines. */
+    synchronized void append(List<ScenarioResult> results, Long wallMillis) {
+        String at = Instant.now().toString();
+        List<ObjectNode> events = new ArrayList<>();
+        if (wallMillis != null) events.add(MAPPER.createObjectNode().put("event", RUN_KEY).put("at", at).put("wallMillis", wallMillis).put("scenarios", results.size()));
+        for (ScenarioResult result : results) {
+            if (result.getDurationMillis() <= 0) continue;
+            ObjectNode event = MAPPER.createObjectNode().put("event", "scenario").put("at", at).put("scenario", result.label)
+                    .put("passed", result.isPassed()).put("millis", result.getDurationMillis());
+            ObjectNode steps = event.putObject("steps");
+            result.getStepMillis().forEach(steps::put);
+            events.add(event);
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (ObjectNode event : events) {
+                    out.write(event.toString());
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("   ❌ Failed to append perf history: " + e.getMessage());
+        }
+        events.forEach(this::remember);
+        lines += events.size();
+        if (lines > 2 * Math.max((long) window * (1 + scenarios.size()), compactedLines)) compact();
+    }
+
+    /**
+     * Rewrites the file keeping, newest first, every event that still holds one of the last "window" samples of a
+     * run, scenario or step; reloading the result gives the same baselines. Replaced atomically, so a crash leaves
+     * either the old file or the new one.
+     */
+    synchronized void compact() {
+        List<String> all = new ArrayList<>();
+        try {
+            all.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("   ⚠️ Could not read perf history for compaction: " + e.getMessage());
+            return;
+        }
+        Map<String, Integer> kept = new HashMap<>();
+        ArrayDeque<String> keep = new ArrayDeque<>();
+        for (int i = all.size() - 1; i >= 0; i--) {
+            Map<String, Long> contributes;
+            try {
+                contributes = samplesOf(MAPPER.readTree(all.get(i)));
+            } catch (IOException e) {
+                continue;
+            }
+            boolean needed = false;
+            for (String key : contributes.keySet()) needed |= kept.merge(key, 1, Integer::sum) <= window;
+            if (needed) keep.addFirst(all.get(i));
+        }
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+        try {
+            Files.write(tmp, keep, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("   🗜️ Compacted perf history: " + all.size() + " -> " + keep.size() + " lines");
+            lines = keep.size();
+            compactedLines = keep.size();
+        } catch (IOException e) {
+            System.err.println("   ⚠️ Could not compact perf history: " + e.getMessage());
+        }
+    }
+}
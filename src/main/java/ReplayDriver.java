@@ -0,0 +1,364 @@
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Offline WebDriver for platform "REPLAY": serves recorded page-source hierarchies instead of talking to a browser
+ * or Appium, so the engine, scheduler and waits can be load-tested in-process.
+ *
+ * A recording is a folder of getPageSource() dumps, "replay.dir" (default replay/) + "/<scenario>/*.xml", played in
+ * file-name order. The first screen is shown at start (or on the first navigate); every click or later navigate
+ * moves on to the next one, and the last screen stays up; navigate().back()/forward() count as navigates and
+ * refresh() reloads the current screen. switchTo() knows the one window and its default content. Elements are looked up in the current screen with the
+ * locators ActionLibrary.getLocator builds (id=, name=, xpath=, accessId=) via {@link PageSnapshot}; hidden nodes
+ * (visible/displayed="false") are found but not displayed. Every command sleeps "replay.latencyMs" (default 50)
+ * plus up to "replay.jitterMs" (default 20) to stand in for the driver round trip. One driver per scenario.
+ */
+final class ReplayDriver implements WebDriver {
+    // Recordings are read once per process; each driver parses the screens it reaches
+    private static final Map<Path, List<String>> RECORDINGS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final List<String> screens;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final Options options = new ReplayOptions();
+    private final Navigation navigation = new ReplayNavigation();
+    private final TargetLocator targetLocator = new ReplayTargetLocator();
+    private int index;
+    private boolean started;
+    private PageSnapshot current;
+    private String url = "about:blank";
+
+    ReplayDriver(String name, List<String> screens, long latencyMillis, long jitterMillis) {
+        if (screens.isEmpty()) throw new IllegalArgumentException("Replay recording " + name + " has no screens");
+        this.name = name;
+        this.screens = screens;
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.jitterMillis = Math.max(0, jitterMillis);
+    }
+
+    /** The recording for a scenario file ("login.txt" -> replay/login/). */
+    static ReplayDriver forScenario(String scenarioFile) throws Exception {
+        String scenario = scenarioFile.replace(".txt", "");
+        Path dir = Paths.get(EngineConfig.get("replay.dir", "replay"), scenario);
+        return new ReplayDriver(scenario, load(dir), EngineConfig.getLong("replay.latencyMs", 50), EngineConfig.getLong("replay.jitterMs", 20));
+    }
+
+    static List<String> load(Path dir) throws Exception {
+        List<String> screens = RECORDINGS.get(dir);
+        if (screens != null) return screens;
+        if (!Files.isDirectory(dir)) throw new Exception("❌ Replay Recording Not Found: " + dir);
+        List<String> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(p -> p.getFileName().toString().endsWith(".xml")).sorted().toList()) {
+                loaded.add(Files.readString(file, StandardCharsets.UTF_8));
+            }
+        }
+        if (loaded.isEmpty()) throw new Exception("❌ Replay Recording Has No Screens: " + dir);
+        RECORDINGS.put(dir, List.copyOf(loaded));
+        return RECORDINGS.get(dir);
+    }
+
+    // ==========================================
+    // 🖥️ SCREENS
+    // ==========================================
+    private void roundTrip() {
+        long millis = latencyMillis + (jitterMillis == 0 ? 0 : ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+        if (millis == 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PageSnapshot screen() {
+        if (current == null) {
+            try {
+                current = PageSnapshot.parse(screens.get(index));
+            } catch (Exception e) {
+                throw new IllegalStateException("Replay " + name + " screen " + (index + 1) + " is not valid XML: " + e.getMessage(), e);
+            }
+        }
+        return current;
+    }
+
+    private void advance() {
+        started = true;
+        if (index < screens.size() - 1) {
+            index++;
+            current = null;
+        }
+    }
+
+    // The four locator kinds ActionLibrary.getLocator produces, as XPath over the hierarchy
+    static By toXPath(By by) {
+        if (by instanceof By.Remotable remotable) {
+            String value = String.valueOf(remotable.getRemoteParameters().value());
+            switch (remotable.getRemoteParameters().using()) {
+                case "xpath":
+                    return by;
+                case "id":
+                    // HTML id, UiAutomator2 resource-id (with or without the package prefix), XCUITest name
+                    return By.xpath("//*[@id=" + literal(value) + " or @resource-id=" + literal(value)
+                            + " or substring-after(@resource-id, ':id/')=" + literal(value) + " or @name=" + literal(value) + "]");
+                case "name":
+                    return By.xpath("//*[@name=" + literal(value) + "]");
+                case "accessibility id":
+                    return By.xpath("//*[@content-desc=" + literal(value) + " or @name=" + literal(value) + " or @accessibility-id=" + literal(value) + "]");
+                default:
+                    break;
+            }
+        }
+        throw new InvalidSelectorException("Replay supports id=, name=, xpath= and accessId= locators, not " + by);
+    }
+
+    static String literal(String value) {
+        if (!value.contains("'")) return "'" + value + "'";
+        if (!value.contains("\"")) return "\"" + value + "\"";
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    // ==========================================
+    // 🔌 WEBDRIVER
+    // ==========================================
+    @Override
+    public void get(String target) {
+        roundTrip();
+        if (started) advance(); else started = true;
+        url = target;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        roundTrip();
+        try {
+            PageSnapshot snapshot = screen();
+            NodeList nodes = snapshot.findAll(toXPath(by));
+            List<WebElement> found = new ArrayList<>(nodes.getLength());
+            for (int i = 0; i < nodes.getLength(); i++) {
+                if (nodes.item(i) instanceof Element element) found.add(new ReplayElement(element, snapshot, index));
+            }
+            return found;
+        } catch (InvalidSelectorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidSelectorException("Replay could not evaluate " + by + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) throw new NoSuchElementException("Replay " + name + " screen " + (index + 1) + "/" + screens.size() + " has no " + by);
+        return found.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        roundTrip();
+        return screens.get(index);
+    }
+
+    @Override public String getCurrentUrl() { return url; }
+    @Override public String getTitle() { return name; }
+    @Override public void close() {}
+    @Override public void quit() {}
+    @Override public Set<String> getWindowHandles() { return Set.of("replay"); }
+    @Override public String getWindowHandle() { return "replay"; }
+    @Override public TargetLocator switchTo() { return targetLocator; }
+    @Override public Navigation navigate() { return navigation; }
+    @Override public Options manage() { return options; }
+
+    private final class ReplayElement implements WebElement {
+        private final Element node;
+        private final PageSnapshot snapshot;
+        private final int screen;
+
+        ReplayElement(Element node, PageSnapshot snapshot, int screen) {
+            this.node = node;
+            this.snapshot = snapshot;
+            this.screen = screen;
+        }
+
+        // An element belongs to the screen load it was found on, like a real one after a page change or reload
+        private Element live() {
+            roundTrip();
+            if (snapshot != current) throw new StaleElementReferenceException("Replay screen changed since " + node.getTagName() + " was found");
+            return node;
+        }
+
+        @Override public void click() { live(); advance(); }
+        @Override public void submit() { click(); }
+        @Override public void sendKeys(CharSequence... keysToSend) { Element e = live(); e.setAttribute("value", e.getAttribute("value") + String.join("", keysToSend)); }
+        @Override public void clear() { live().setAttribute("value", ""); }
+        @Override public String getTagName() { return live().getTagName(); }
+        @Override public String getAttribute(String attribute) { Element e = live(); return e.hasAttribute(attribute) ? e.getAttribute(attribute) : null; }
+        @Override public boolean isSelected() { return "true".equals(live().getAttribute("selected")); }
+        @Override public boolean isEnabled() { return !"false".equals(live().getAttribute("enabled")); }
+        @Override public boolean isDisplayed() { return PageSnapshot.isDisplayed(live()); }
+        @Override public String getCssValue(String propertyName) { live(); return ""; }
+
+        @Override
+        public String getText() {
+            Element e = live();
+            for (String attribute : new String[] {"text", "label", "value"}) {
+                if (!e.getAttribute(attribute).isEmpty()) return e.getAttribute(attribute);
+            }
+            return e.getTextContent().trim();
+        }
+
+        // Lookups always start from the screen root, as getLocator's locators do
+        @Override public List<WebElement> findElements(By by) { throw new UnsupportedOperationException("Replay looks elements up from the screen root"); }
+        @Override public WebElement findElement(By by) { throw new UnsupportedOperationException("Replay looks elements up from the screen root"); }
+
+        @Override public Point getLocation() { Rectangle r = getRect(); return new Point(r.getX(), r.getY()); }
+        @Override public Dimension getSize() { return getRect().getDimension(); }
+
+        @Override
+        public Rectangle getRect() {
+            Element e = live();
+            return new Rectangle(intAttr(e, "x"), intAttr(e, "y"), intAttr(e, "height"), intAttr(e, "width"));
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            throw new UnsupportedOperationException("Replay has no screen to capture");
+        }
+
+        @Override
+        public String toString() {
+            return "ReplayElement[" + node.getTagName() + " on screen " + (screen + 1) + "]";
+        }
+    }
+
+    private static int intAttr(Element e, String attribute) {
+        try {
+            return Integer.parseInt(e.getAttribute(attribute));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    // ==========================================
+    // 🧭 NAVIGATION & WINDOWS
+    // ==========================================
+    private final class ReplayNavigation implements Navigation {
+        @Override public void to(String target) { get(target); }
+        @Override public void to(URL target) { get(String.valueOf(target)); }
+        // A recording only plays forward: going back or forward is another page change
+        @Override public void back() { get(url); }
+        @Override public void forward() { get(url); }
+
+        @Override
+        public void refresh() {
+            roundTrip();
+            started = true;
+            current = null; // re-parsed on the next lookup, so typed values are gone as after a reload
+        }
+    }
+
+    private final class ReplayTargetLocator implements TargetLocator {
+        @Override public WebDriver defaultContent() { return ReplayDriver.this; }
+        @Override public WebDriver parentFrame() { return ReplayDriver.this; }
+
+        @Override
+        public WebDriver window(String handle) {
+            if (!getWindowHandle().equals(handle)) throw new NoSuchWindowException("Replay has a single window, not " + handle);
+            return ReplayDriver.this;
+        }
+
+        // The focused node if the dump marks one, else the screen root (like document.body in a browser)
+        @Override
+        public WebElement activeElement() {
+            List<WebElement> focused = findElements(By.xpath("//*[@focused='true']"));
+            return focused.isEmpty() ? findElement(By.xpath("/*")) : focused.get(0);
+        }
+
+        @Override public WebDriver frame(int frameIndex) { throw new NoSuchFrameException("Replay screens have no frames"); }
+        @Override public WebDriver frame(String nameOrId) { throw new NoSuchFrameException("Replay screens have no frames"); }
+        @Override public WebDriver frame(WebElement frameElement) { throw new NoSuchFrameException("Replay screens have no frames"); }
+        @Override public WebDriver newWindow(WindowType typeHint) { throw new UnsupportedOperationException("Replay has a single window"); }
+        @Override public Alert alert() { throw new NoAlertPresentException("Replay screens have no alerts"); }
+    }
+
+    private static final class ReplayOptions implements Options, Timeouts, Window, Logs {
+        private Duration implicitWait = Duration.ZERO;
+        private Duration scriptTimeout = Duration.ofSeconds(30);
+        private Duration pageLoadTimeout = Duration.ofMinutes(5);
+        private Dimension size = new Dimension(0, 0);
+        private Point position = new Point(0, 0);
+
+        @Override public void addCookie(Cookie cookie) {}
+        @Override public void deleteCookieNamed(String name) {}
+        @Override public void deleteCookie(Cookie cookie) {}
+        @Override public void deleteAllCookies() {}
+        @Override public Set<Cookie> getCookies() { return Collections.emptySet(); }
+        @Override public Cookie getCookieNamed(String name) { return null; }
+        @Override public Timeouts timeouts() { return this; }
+        @Override public Window window() { return this; }
+        @Override public Logs logs() { return this; }
+
+        // Timeouts are only remembered: lookups never wait and there is no script or page load
+        @Override public Timeouts implicitlyWait(Duration duration) { implicitWait = duration; return this; }
+        @Override public Duration getImplicitWaitTimeout() { return implicitWait; }
+        @Override public Timeouts scriptTimeout(Duration duration) { scriptTimeout = duration; return this; }
+        @Override public Duration getScriptTimeout() { return scriptTimeout; }
+        @Override public Timeouts pageLoadTimeout(Duration duration) { pageLoadTimeout = duration; return this; }
+        @Override public Duration getPageLoadTimeout() { return pageLoadTimeout; }
+
+        // Still abstract in Timeouts, so they have to be implemented
+        @SuppressWarnings("deprecation")
+        @Override public Timeouts implicitlyWait(long time, TimeUnit unit) { return implicitlyWait(Duration.of(time, unit.toChronoUnit())); }
+        @SuppressWarnings("deprecation")
+        @Override public Timeouts setScriptTimeout(long time, TimeUnit unit) { return scriptTimeout(Duration.of(time, unit.toChronoUnit())); }
+        @SuppressWarnings("deprecation")
+        @Override public Timeouts pageLoadTimeout(long time, TimeUnit unit) { return pageLoadTimeout(Duration.of(time, unit.toChronoUnit())); }
+
+        // A window with nothing on screen: size and position are kept, maximize and friends do nothing
+        @Override public Dimension getSize() { return size; }
+        @Override public void setSize(Dimension targetSize) { size = targetSize; }
+        @Override public Point getPosition() { return position; }
+        @Override public void setPosition(Point targetPosition) { position = targetPosition; }
+        @Override public void maximize() {}
+        @Override public void minimize() {}
+        @Override public void fullscreen() {}
+
+        @Override public LogEntries get(String logType) { return new LogEntries(List.of()); }
+        @Override public Set<String> getAvailableLogTypes() { return Set.of(); }
+    }
+}
@@ -0,0 +1,93 @@
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Local store of recent scenario durations, used to plan shards. Lives in "results.dir" (default results/, kept
+ * outside target/ so mvn clean does not wipe it; CI caches it between runs) as durations.json:
+ * label -> last "results.history" (default 10) durations of passing runs, oldest first.
+ */
+final class ResultsStore {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    // Stores are opened per call (daemon handler threads, shards merging); one lock keeps load-modify-write whole
+    private static final Object WRITE_LOCK = new Object();
+
+    private final Path file;
+    private final int history;
+
+    ResultsStore(Path dir, int history) {
+        this.file = dir.resolve("durations.json");
+        this.history = Math.max(1, history);
+    }
+
+    static ResultsStore open() {
+        return new ResultsStore(Paths.get(EngineConfig.get("results.dir", "results")), EngineConfig.getInt("results.history", 10));
+    }
+
+    Map<String, List<Long>> load() {
+        if (!Files.exists(file)) return new TreeMap<>();
+        try {
+            return MAPPER.readValue(file.toFile(), new TypeReference<TreeMap<String, List<Long>>>() {});
+        } catch (Exception e) {
+            System.err.println("   ⚠️ Ignoring unreadable results store " + file + ": " + e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    /** Median of the recorded durations per scenario. Scenarios without history are absent. */
+    Map<String, Long> medians() {
+        Map<String, Long> medians = new TreeMap<>();
+        load().forEach((label, durations) -> { if (!durations.isEmpty()) medians.put(label, median(durations)); });
+        return medians;
+    }
+
+    /**
+     * Appends this run's durations. Failed runs are skipped: they stop at the first broken step (or hang until a
+     * timeout), so they say little about how long the scenario takes. Writers are serialized, and each writes its
+     * own temp file before moving it into place, so concurrent records neither lose samples nor clash on the move.
+     */
+    void record(List<ScenarioResult> results) {
+        synchronized (WRITE_LOCK) {
+            write(results);
+        }
+    }
+
+    private void write(List<ScenarioResult> results) {
+        Map<String, List<Long>> store = load();
+        for (ScenarioResult result : results) {
+            if (!result.isPassed() || result.getDurationMillis() <= 0) continue;
+            List<Long> durations = store.computeIfAbsent(result.label, k -> new ArrayList<>());
+            durations.add(result.getDurationMillis());
+            while (durations.size() > history) durations.remove(0);
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "durations", ".json.tmp");
+            try {
+                MAPPER.writeValue(tmp.toFile(), store);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (Exception e) {
+            System.err.println("   ❌ Failed to update results store: " + e.getMessage());
+        }
+    }
+
+    static long median(List<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+}
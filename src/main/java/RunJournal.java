@@ -0,0 +1,194 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only run-state journal ("journal.dir", default <results.dir>/run-state/journal.ndjson, outside target/
+ * so "mvn clean" keeps it), one JSON event per line: run, start, step, checkpoint, end. Every event is flushed as
+ * it happens, so a crashed or killed run still leaves an accurate record.
+ *
+ * A full run truncates the journal; a --rerun-failed run and a partial (--scenario) run append to it. Replaying
+ * the file therefore gives the state of the last full run plus every run since: which scenarios passed, and for
+ * the rest the last checkpoint reached with the plan hash it belongs to (a checkpoint from an edited scenario is
+ * not reused).
+ */
+final class RunJournal implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    static final String FILE_NAME = "journal.ndjson";
+
+    static final class ScenarioState {
+        String hash;
+        boolean passed;
+        int checkpointIndex;
+        String checkpoint;
+        String failedStep;
+    }
+
+    private final Path file;
+    private final Map<String, ScenarioState> previous;
+    private final BufferedWriter out;
+
+    private RunJournal(Path file, Map<String, ScenarioState> previous, BufferedWriter out) {
+        this.file = file;
+        this.previous = previous;
+        this.out = out;
+    }
+
+    /**
+     * Opens the journal for a new run. A full run starts it over; a rerun keeps what earlier runs recorded, and so
+     * does a partial run, which only updates the scenarios it runs.
+     */
+    static RunJournal open(Path dir, boolean rerun, boolean partial) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve(FILE_NAME);
+        boolean append = rerun || partial;
+        Map<String, ScenarioState> previous = rerun ? replay(file) : new HashMap<>();
+        BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        if (append && endsMidLine(file)) out.newLine(); // keep a torn last line from swallowing the next event
+        RunJournal journal = new RunJournal(file, previous, out);
+        journal.write(event("run").put("mode", rerun ? "rerun" : partial ? "partial" : "full"));
+        return journal;
+    }
+
+    private static boolean endsMidLine(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) return false;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) != '\n';
+        }
+    }
+
+    static Map<String, ScenarioState> replay(Path file) throws IOException {
+        Map<String, ScenarioState> states = new HashMap<>();
+        if (!Files.exists(file)) return states;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode event;
+                try {
+                    event = MAPPER.readTree(line);
+                } catch (IOException e) {
+                    continue; // torn last line of a killed run
+                }
+                if (event == null) continue;
+                String scenario = event.path("scenario").asText();
+                switch (event.path("event").asText()) {
+                    case "run":
+                        if ("full".equals(event.path("mode").asText())) states.clear();
+                        break;
+                    case "start": {
+                        ScenarioState state = new ScenarioState();
+                        state.hash = event.path("hash").asText();
+                        state.checkpointIndex = event.path("from").asInt();
+                        state.checkpoint = event.path("checkpoint").textValue();
+                        states.put(scenario, state);
+                        break;
+                    }
+                    case "checkpoint": {
+                        ScenarioState state = states.get(scenario);
+                        if (state != null) {
+                            state.checkpointIndex = event.path("index").asInt();
+                            state.checkpoint = event.path("name").asText();
+                        }
+                        break;
+                    }
+                    case "end": {
+                        ScenarioState state = states.computeIfAbsent(scenario, k -> new ScenarioState());
+                        state.passed = event.path("passed").asBoolean();
+                        state.failedStep = event.path("failedStep").textValue();
+                        break;
+                    }
+                    default:
+                        break;
+                }
+            }
+        }
+        return states;
+    }
+
+    // ==========================================
+    // 🔁 RERUN SELECTION
+    // ==========================================
+    /** Drops the scenarios that already passed. Scenarios the journal has never seen are kept. */
+    List<Engine.TestConfig> notYetPassed(List<Engine.TestConfig> configs) {
+        List<Engine.TestConfig> remaining = new ArrayList<>();
+        for (Engine.TestConfig config : configs) {
+            ScenarioState state = previous.get(config.label);
+            if (state != null && state.passed) {
+                System.out.println("   ⏭️ " + config.label + " passed earlier, skipping");
+            } else {
+                remaining.add(config);
+            }
+        }
+        if (previous.isEmpty()) System.out.println("   ⚠️ No journal at " + file + ", rerunning everything");
+        return remaining;
+    }
+
+    /** Index of the step to resume at: the last checkpoint the previous attempt reached, or 0. */
+    int resumeIndex(String label, ScenarioPlan plan) {
+        ScenarioState state = previous.get(label);
+        if (state == null || state.passed || state.checkpointIndex <= 0 || !plan.hash().equals(state.hash)) return 0;
+        if (state.checkpointIndex >= plan.steps().size()) return 0;
+        return plan.steps().get(state.checkpointIndex) instanceof ScenarioPlan.Checkpoint ? state.checkpointIndex : 0;
+    }
+
+    // ==========================================
+    // ✍️ EVENTS
+    // ==========================================
+    void scenarioStarted(String label, ScenarioPlan plan, int from) {
+        ObjectNode event = event("start").put("scenario", label).put("hash", plan.hash()).put("from", from);
+        if (from > 0) event.put("checkpoint", ((ScenarioPlan.Checkpoint) plan.steps().get(from)).name());
+        write(event);
+    }
+
+    void step(String label, int index, ScenarioPlan.Step step, boolean ok, long millis) {
+        write(event("step").put("scenario", label).put("index", index).put("line", step.line()).put("text", step.text())
+                .put("ok", ok).put("millis", millis));
+    }
+
+    void checkpoint(String label, int index, String name) {
+        write(event("checkpoint").put("scenario", label).put("index", index).put("name", name));
+    }
+
+    void scenarioFinished(ScenarioResult result) {
+        write(event("end").put("scenario", result.label).put("passed", result.isPassed())
+                .put("failedStep", result.getFailedStep()).put("durationMillis", result.getDurationMillis()));
+    }
+
+    private static ObjectNode event(String type) {
+        return MAPPER.createObjectNode().put("event", type).put("at", Instant.now().toString());
+    }
+
+    // Parallel scenarios share one journal
+    private synchronized void write(ObjectNode event) {
+        try {
+            out.write(event.toString());
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("   ⚠️ Run journal write failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try { out.close(); } catch (IOException e) {}
+    }
+}
@@ -0,0 +1,194 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-wide timing collector. Records phase latencies (launch, recording_stop, teardown, video_encode),
+ * per-step latencies with WebDriver command counts and time spent in explicit waits, and exports them as
+ * target/run-report.json plus a Prometheus text file target/metrics.prom.
+ */
+public final class RunMetrics {
+    static final long[] BUCKETS_MS = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+    private static final RunMetrics SHARED = new RunMetrics();
+
+    public record StepRecord(String scenario, int line, String text, String kind, long millis, long commands, long waitMillis, boolean ok) {}
+
+    static final class Histogram {
+        final LongAdder[] buckets = new LongAdder[BUCKETS_MS.length];
+        final LongAdder count = new LongAdder();
+        final LongAdder sum = new LongAdder();
+
+        Histogram() { for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder(); }
+
+        void observe(long millis) {
+            for (int i = 0; i < BUCKETS_MS.length; i++) if (millis <= BUCKETS_MS[i]) buckets[i].increment();
+            count.increment();
+            sum.add(millis);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count.sum());
+            map.put("sumMillis", sum.sum());
+            Map<String, Long> le = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKETS_MS.length; i++) le.put(String.valueOf(BUCKETS_MS[i]), buckets[i].sum());
+            map.put("buckets", le);
+            return map;
+        }
+    }
+
+    private final Map<String, Histogram> phases = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> stepKinds = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> commandsByKind = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> waitMillisByKind = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Long>> phasesByScenario = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<StepRecord> steps = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger stepRecords = new AtomicInteger();
+    // Histograms are fixed-size; raw step records are capped so huge or long-lived runs cannot grow without bound
+    private final int maxStepRecords = EngineConfig.getInt("metrics.maxStepRecords", 100_000);
+    private volatile Instant startedAt = Instant.now();
+
+    public static RunMetrics get() { return SHARED; }
+
+    // ==========================================
+    // 📥 RECORDING
+    // ==========================================
+    public void recordPhase(String phase, String scenario, long startNanos) {
+        long millis = (System.nanoTime() - startNanos) / 1_000_000;
+        phases.computeIfAbsent(phase, k -> new Histogram()).observe(millis);
+        phasesByScenario.computeIfAbsent(scenario, k -> new ConcurrentHashMap<>()).merge(phase, millis, Long::sum);
+    }
+
+    public void recordStep(String scenario, ScenarioPlan.Step step, long startNanos, long commands, long waitMillis, boolean ok) {
+        long millis = (System.nanoTime() - startNanos) / 1_000_000;
+        String kind = step.getClass().getSimpleName();
+        stepKinds.computeIfAbsent(kind, k -> new Histogram()).observe(millis);
+        commandsByKind.computeIfAbsent(kind, k -> new LongAdder()).add(commands);
+        waitMillisByKind.computeIfAbsent(kind, k -> new LongAdder()).add(waitMillis);
+        if (stepRecords.incrementAndGet() <= maxStepRecords) {
+            steps.add(new StepRecord(scenario, step.line(), step.text(), kind, millis, commands, waitMillis, ok));
+        }
+    }
+
+    /** Starts a fresh collection window (new run, or the next window of a long-lived daemon). */
+    public void reset() {
+        phases.clear();
+        stepKinds.clear();
+        commandsByKind.clear();
+        waitMillisByKind.clear();
+        phasesByScenario.clear();
+        steps.clear();
+        stepRecords.set(0);
+        startedAt = Instant.now();
+    }
+
+    public List<StepRecord> stepsFor(String scenario) {
+        List<StepRecord> list = new ArrayList<>();
+        for (StepRecord record : steps) if (record.scenario().equals(scenario)) list.add(record);
+        return list;
+    }
+
+    // ==========================================
+    // 📤 EXPORT
+    // ==========================================
+    public void export(Path dir, List<ScenarioResult> results, long wallMillis) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("run-report.json"), toJson(results, wallMillis), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("metrics.prom"), toPrometheus(wallMillis), StandardCharsets.UTF_8);
+            System.out.println("📈 Metrics written to " + dir.resolve("run-report.json") + " and " + dir.resolve("metrics.prom"));
+        } catch (Exception e) {
+            System.err.println("   ❌ Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    String toJson(List<ScenarioResult> results, long wallMillis) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("wallMillis", wallMillis);
+
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (ScenarioResult result : results) {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("label", result.label);
+            s.put("scenarioFile", result.scenarioFile);
+            s.put("platform", result.platform);
+            s.put("passed", result.isPassed());
+            s.put("durationMillis", result.getDurationMillis());
+            if (!result.isPassed()) s.put("failedStep", result.getFailedStep());
+            s.put("phases", phasesByScenario.getOrDefault(result.label, Map.of()));
+            s.put("steps", stepsFor(result.label));
+            scenarios.add(s);
+        }
+        report.put("scenarios", scenarios);
+
+        Map<String, Object> histograms = new LinkedHashMap<>();
+        histograms.put("phase", toMaps(phases));
+        histograms.put("step", toMaps(stepKinds));
+        report.put("histograms", histograms);
+        report.put("webdriverCommands", sums(commandsByKind));
+        report.put("waitMillis", sums(waitMillisByKind));
+
+        return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+    }
+
+    String toPrometheus(long wallMillis) {
+        StringBuilder out = new StringBuilder();
+        appendHistogram(out, "bot_phase_duration_milliseconds", "Latency of engine phases", "phase", phases);
+        appendHistogram(out, "bot_step_duration_milliseconds", "Latency of scenario steps by command", "command", stepKinds);
+        appendCounter(out, "bot_webdriver_commands_total", "WebDriver round trips issued by scenario steps", "command", commandsByKind);
+        appendCounter(out, "bot_wait_milliseconds_total", "Time spent inside explicit waits", "command", waitMillisByKind);
+        out.append("# HELP bot_run_wall_milliseconds Wall-clock time of the whole run\n");
+        out.append("# TYPE bot_run_wall_milliseconds gauge\n");
+        out.append("bot_run_wall_milliseconds ").append(wallMillis).append("\n");
+        return out.toString();
+    }
+
+    private static void appendHistogram(StringBuilder out, String name, String help, String labelName, Map<String, Histogram> histograms) {
+        out.append("# HELP ").append(name).append(" ").append(help).append("\n");
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        for (Map.Entry<String, Histogram> e : new TreeMap<>(histograms).entrySet()) {
+            String label = labelName + "=\"" + e.getKey() + "\"";
+            Histogram h = e.getValue();
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                out.append(name).append("_bucket{").append(label).append(",le=\"").append(BUCKETS_MS[i]).append("\"} ").append(h.buckets[i].sum()).append("\n");
+            }
+            out.append(name).append("_bucket{").append(label).append(",le=\"+Inf\"} ").append(h.count.sum()).append("\n");
+            out.append(name).append("_sum{").append(label).append("} ").append(h.sum.sum()).append("\n");
+            out.append(name).append("_count{").append(label).append("} ").append(h.count.sum()).append("\n");
+        }
+    }
+
+    private static void appendCounter(StringBuilder out, String name, String help, String labelName, Map<String, LongAdder> counters) {
+        out.append("# HELP ").append(name).append(" ").append(help).append("\n");
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (Map.Entry<String, LongAdder> e : new TreeMap<>(counters).entrySet()) {
+            out.append(name).append("{").append(labelName).append("=\"").append(e.getKey()).append("\"} ").append(e.getValue().sum()).append("\n");
+        }
+    }
+
+    private static Map<String, Object> toMaps(Map<String, Histogram> histograms) {
+        Map<String, Object> map = new TreeMap<>();
+        histograms.forEach((k, v) -> map.put(k, v.toMap()));
+        return map;
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> map = new TreeMap<>();
+        counters.forEach((k, v) -> map.put(k, v.sum()));
+        return map;
+    }
+}
@@ -0,0 +1,206 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.By;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a page-object JSON + scenario .txt pair into a {@link ScenarioPlan}.
+ * All unknown commands and missing page-object keys are collected and reported together, before any driver
+ * is launched. Plans are cached in memory by the SHA-256 of both files, so within one process a scenario is parsed
+ * once (validate() and the run share the plan, as do daemon resubmissions). The cache keeps the
+ * "compiler.cacheSize" (default 256) most recently used plans. Nothing is persisted: every new engine process
+ * parses again, so the cache only pays off in the daemon and for reuse within one process. A CLI or CI run
+ * compiles each scenario once either way, and parsing is cheap (about 12ms for a synthetic 10k-step scenario,
+ * EngineLoopBenchmark.compile), no more than reading a stored plan back would cost.
+ */
+public final class ScenarioCompiler {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // LRU by plan hash; a long-lived daemon sees a new hash for every edited submission, so the cache is capped
+    private static final int CACHE_SIZE = EngineConfig.getInt("compiler.cacheSize", 256);
+    private static final Map<String, ScenarioPlan> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ScenarioPlan> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    });
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z0-9_.-]+)}");
+
+    private ScenarioCompiler() {}
+
+    public static ScenarioPlan compileResources(String jsonFile, String scenarioFile) throws ScenarioCompileException {
+        return compileResources(jsonFile, scenarioFile, null);
+    }
+
+    /** With params, ${name} placeholders in the scenario are filled in first (one data-driven row). */
+    public static ScenarioPlan compileResources(String jsonFile, String scenarioFile, Map<String, String> params) throws ScenarioCompileException {
+        byte[] scenario = readResource(scenarioFile, "Scenario");
+        return compile(scenarioFile, readResource(jsonFile, "JSON"), params == null ? scenario : substitute(scenarioFile, scenario, params));
+    }
+
+    /**
+     * Replaces every ${name} with its row value. Unknown names and values containing a line break are reported
+     * together, like other compile errors.
+     */
+    static byte[] substitute(String name, byte[] scenarioText, Map<String, String> params) throws ScenarioCompileException {
+        String[] lines = new String(scenarioText, StandardCharsets.UTF_8).split("\r?\n", -1);
+        List<String> errors = new ArrayList<>();
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            Matcher m = PLACEHOLDER.matcher(lines[i]);
+            StringBuilder line = new StringBuilder();
+            while (m.find()) {
+                String value = params.get(m.group(1));
+                if (value == null) {
+                    errors.add("line " + (i + 1) + ": No data column for ${" + m.group(1) + "}");
+                    value = m.group();
+                } else if (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    // A line break would split the step in two and run the rest of the value as a command
+                    errors.add("line " + (i + 1) + ": Data value for ${" + m.group(1) + "} contains a line break");
+                    value = m.group();
+                }
+                m.appendReplacement(line, Matcher.quoteReplacement(value));
+            }
+            m.appendTail(line);
+            if (i > 0) out.append('\n');
+            out.append(line);
+        }
+        if (!errors.isEmpty()) throw new ScenarioCompileException(name, errors);
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static ScenarioPlan compile(String name, byte[] pageObjectsJson, byte[] scenarioText) throws ScenarioCompileException {
+        String hash = hash(pageObjectsJson, scenarioText);
+        ScenarioPlan cached = CACHE.get(hash);
+        if (cached != null) return cached;
+
+        ScenarioPlan plan = parse(name, pageObjectsJson, scenarioText, hash);
+        CACHE.put(hash, plan);
+        return plan;
+    }
+
+    /** Uncached compile; {@link #compile} is the entry point for normal runs. */
+    static ScenarioPlan parse(String name, byte[] pageObjectsJson, byte[] scenarioText, String hash) throws ScenarioCompileException {
+        JsonNode pageObjects;
+        try {
+            pageObjects = MAPPER.readTree(pageObjectsJson);
+        } catch (Exception e) {
+            throw new ScenarioCompileException(name, List.of("Invalid page-object JSON: " + e.getMessage()));
+        }
+
+        List<ScenarioPlan.Step> steps = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        String[] lines = new String(scenarioText, StandardCharsets.UTF_8).split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            try {
+                ScenarioPlan.Step step = compileStep(lines[i], i + 1, pageObjects);
+                if (step != null) steps.add(step);
+            } catch (Exception e) {
+                errors.add("line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) throw new ScenarioCompileException(name, errors);
+
+        return new ScenarioPlan(hash, linkWaits(steps));
+    }
+
+    /** Gives every "Wait for" the locator of the step that follows it (looking past checkpoints), for smart waits. */
+    private static List<ScenarioPlan.Step> linkWaits(List<ScenarioPlan.Step> steps) {
+        List<ScenarioPlan.Step> linked = new ArrayList<>(steps);
+        for (int i = 0; i < linked.size() - 1; i++) {
+            int n = i + 1;
+            while (n < linked.size() - 1 && linked.get(n) instanceof ScenarioPlan.Checkpoint) n++;
+            if (linked.get(i) instanceof ScenarioPlan.WaitFor w && linked.get(n) instanceof ScenarioPlan.Targeted next) {
+                linked.set(i, new ScenarioPlan.WaitFor(w.line(), w.text(), w.seconds(), next.locator()));
+            }
+        }
+        return linked;
+    }
+
+    /** Compiles a single line. Returns null for blank lines and comments. */
+    static ScenarioPlan.Step compileStep(String raw, int line, JsonNode pageObjects) throws Exception {
+        String step = raw.trim();
+        if (step.isEmpty() || step.startsWith("#") || step.startsWith("//")) return null;
+
+        if (step.equalsIgnoreCase("Open Browser")) return new ScenarioPlan.OpenBrowser(line, step);
+        if (step.startsWith("Checkpoint")) {
+            String name = step.substring(10).trim();
+            return new ScenarioPlan.Checkpoint(line, step, name.isEmpty() ? "line " + line : name);
+        }
+        if (step.startsWith("Navigate to")) {
+            String url = step.substring(11).trim();
+            if (url.isEmpty()) throw new Exception("Navigate step has no URL: " + step);
+            return new ScenarioPlan.Navigate(line, step, url);
+        }
+        if (step.startsWith("Wait for")) {
+            String digits = step.replaceAll("\\D", "");
+            if (digits.isEmpty()) throw new Exception("Wait step has no duration: " + step);
+            return new ScenarioPlan.WaitFor(line, step, Integer.parseInt(digits), null);
+        }
+        if (step.startsWith("Tap on") || step.startsWith("Click on")) {
+            String key = step.substring(step.startsWith("Tap on") ? 6 : 8).trim();
+            return new ScenarioPlan.Tap(line, step, key, locatorFor(pageObjects, key));
+        }
+        if (step.startsWith("Type ")) {
+            int in = step.lastIndexOf(" in ");
+            if (in < 5) throw new Exception("Type step must look like 'Type <text> in <Object>': " + step);
+            String key = step.substring(in + 4).trim();
+            return new ScenarioPlan.Type(line, step, step.substring(5, in), key, locatorFor(pageObjects, key));
+        }
+        if (step.startsWith("Verify")) {
+            String key = step.substring(6).replace(" is visible", "").trim();
+            return new ScenarioPlan.Verify(line, step, key, locatorFor(pageObjects, key));
+        }
+        throw new Exception("Unknown Command: " + step);
+    }
+
+    private static By locatorFor(JsonNode pageObjects, String key) throws Exception {
+        if (!pageObjects.has(key)) throw new Exception("Object '" + key + "' not found in JSON.");
+        return ActionLibrary.getLocator(pageObjects.get(key).asText());
+    }
+
+    private static byte[] readResource(String file, String kind) throws ScenarioCompileException {
+        try (InputStream is = ScenarioCompiler.class.getClassLoader().getResourceAsStream(file)) {
+            if (is == null) throw new ScenarioCompileException(file, List.of("❌ " + kind + " File Not Found: " + file));
+            return is.readAllBytes();
+        } catch (ScenarioCompileException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ScenarioCompileException(file, List.of("Could not read " + file + ": " + e.getMessage()));
+        }
+    }
+
+    private static String hash(byte[] json, byte[] scenario) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(json);
+            digest.update((byte) 0);
+            digest.update(scenario);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class ScenarioCompileException extends Exception {
+        private static final long serialVersionUID = 1L;
+        private final List<String> errors;
+
+        ScenarioCompileException(String scenario, List<String> errors) {
+            super("Scenario " + scenario + " failed validation:\n   " + String.join("\n   ", errors));
+            this.errors = List.copyOf(errors);
+        }
+
+        public List<String> getErrors() { return errors; }
+    }
+}
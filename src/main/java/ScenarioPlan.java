@@ -0,0 +1,67 @@
+import org.openqa.selenium.By;
+
+import java.util.List;
+
+/**
+ * Immutable, pre-validated form of a scenario .txt file. Produced by {@link ScenarioCompiler}; every locator
+ * has already been looked up in the page-object JSON and turned into a {@link By}.
+ */
+public final class ScenarioPlan {
+    private final String hash;
+    private final List<Step> steps;
+
+    ScenarioPlan(String hash, List<Step> steps) {
+        this.hash = hash;
+        this.steps = List.copyOf(steps);
+    }
+
+    public String hash() { return hash; }
+    public List<Step> steps() { return steps; }
+
+    // ==========================================
+    // 🧩 STEP TYPES
+    // ==========================================
+    public interface Step {
+        int line();
+        String text();
+        void execute(ActionLibrary lib) throws Exception;
+    }
+
+    /** A step that acts on a page object. */
+    public interface Targeted extends Step {
+        By locator();
+    }
+
+    /**
+     * "Checkpoint <name>": a point a --rerun-failed run may resume from. The steps after it must work on a freshly
+     * launched app (e.g. they start with a Navigate, or the app keeps its login across launches).
+     */
+    record Checkpoint(int line, String text, String name) implements Step {
+        public void execute(ActionLibrary lib) {}
+    }
+
+    record OpenBrowser(int line, String text) implements Step {
+        public void execute(ActionLibrary lib) {}
+    }
+
+    record Navigate(int line, String text, String url) implements Step {
+        public void execute(ActionLibrary lib) { lib.navigate(url); }
+    }
+
+    // "next" is the locator of the step right after this wait (if any) so smart waits can stop early
+    record WaitFor(int line, String text, int seconds, By next) implements Step {
+        public void execute(ActionLibrary lib) { lib.waitFor(seconds, next); }
+    }
+
+    record Tap(int line, String text, String key, By locator) implements Targeted {
+        public void execute(ActionLibrary lib) { lib.tap(locator); }
+    }
+
+    record Type(int line, String text, String value, String key, By locator) implements Targeted {
+        public void execute(ActionLibrary lib) { lib.type(value, locator); }
+    }
+
+    record Verify(int line, String text, String key, By locator) implements Targeted {
+        public void execute(ActionLibrary lib) { lib.verifyVisible(locator); }
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one scenario run. Every scenario gets its own instance so parallel runs never share state.
+ */
+public class ScenarioResult {
+    public final String label;
+    public final String scenarioFile;
+    public final String platform;
+    boolean passed;
+    String failedStep;
+    String error;
+    long durationMillis;
+    long savedSleepMillis;
+    // Checkpoint a rerun resumed from; null when the scenario ran from the start
+    String resumedFrom;
+    // Data-driven rows: the scenario's label and the 1-based row; null/0 for ordinary scenarios
+    String dataset;
+    int row;
+    // Duration of every step that passed, keyed by step text ("#2", "#3" for repeats); feeds PerfHistory
+    final Map<String, Long> stepMillis = new LinkedHashMap<>();
+    // Slowdowns against PerfHistory baselines, set once a passed scenario has finished
+    List<String> regressions = new ArrayList<>();
+
+    ScenarioResult(Engine.TestConfig config) {
+        this.label = config.label;
+        this.scenarioFile = config.scenarioFile;
+        this.platform = config.platform;
+        this.dataset = config.dataset;
+        this.row = config.row;
+    }
+
+    private ScenarioResult(String label, String scenarioFile, String platform) {
+        this.label = label;
+        this.scenarioFile = scenarioFile;
+        this.platform = platform;
+    }
+
+    public boolean isPassed() { return passed; }
+    public String getFailedStep() { return failedStep; }
+    public String getError() { return error; }
+    public long getDurationMillis() { return durationMillis; }
+    public long getSavedSleepMillis() { return savedSleepMillis; }
+    public String getResumedFrom() { return resumedFrom; }
+    public String getDataset() { return dataset; }
+    public int getRow() { return row; }
+    public Map<String, Long> getStepMillis() { return stepMillis; }
+    public List<String> getRegressions() { return regressions; }
+
+    public String statusLine() {
+        String line = (passed ? "✅ " : "🚨 ") + label + " [" + platform + "] " + String.format("%.1fs", durationMillis / 1000.0);
+        if (resumedFrom != null) line += " ↪️ from [" + resumedFrom + "]";
+        return passed ? line : line + " | Step: [" + failedStep + "]";
+    }
+
+    /** Plain map form for shard reports; {@link #fromMap} reads it back. */
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("label", label);
+        map.put("scenarioFile", scenarioFile);
+        map.put("platform", platform);
+        map.put("passed", passed);
+        map.put("failedStep", failedStep);
+        map.put("error", error);
+        map.put("durationMillis", durationMillis);
+        map.put("savedSleepMillis", savedSleepMillis);
+        map.put("resumedFrom", resumedFrom);
+        if (dataset != null) {
+            map.put("dataset", dataset);
+            map.put("row", row);
+        }
+        map.put("stepMillis", stepMillis);
+        if (!regressions.isEmpty()) map.put("regressions", regressions);
+        return map;
+    }
+
+    static ScenarioResult fromMap(Map<String, Object> map) {
+        ScenarioResult result = new ScenarioResult((String) map.get("label"), (String) map.get("scenarioFile"), (String) map.get("platform"));
+        result.passed = Boolean.TRUE.equals(map.get("passed"));
+        result.failedStep = (String) map.get("failedStep");
+        result.error = (String) map.get("error");
+        result.durationMillis = map.get("durationMillis") instanceof Number n ? n.longValue() : 0;
+        result.savedSleepMillis = map.get("savedSleepMillis") instanceof Number n ? n.longValue() : 0;
+        result.resumedFrom = (String) map.get("resumedFrom");
+        result.dataset = (String) map.get("dataset");
+        result.row = map.get("row") instanceof Number n ? n.intValue() : 0;
+        if (map.get("stepMillis") instanceof Map<?, ?> steps) {
+            steps.forEach((step, millis) -> { if (millis instanceof Number n) result.stepMillis.put(String.valueOf(step), n.longValue()); });
+        }
+        if (map.get("regressions") instanceof List<?> found) found.forEach(r -> result.regressions.add(String.valueOf(r)));
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs scenarios concurrently. Every platform gets its own permit count so a single real device only ever
+ * runs one session while desktop Chrome can run several.
+ * Caps are read from "engine.concurrency.<PLATFORM>" (falls back to "engine.concurrency.default").
+ */
+public class ScenarioScheduler implements AutoCloseable {
+
+    private static final Map<String, Integer> DEFAULT_LIMITS = Map.of(
+            "WEB", 4,
+            "MWEB", 4,
+            "REPLAY", 64 // in-process, no device behind it
+    );
+
+    private final ExecutorService executor = newExecutor();
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public List<ScenarioResult> runAll(List<Engine.TestConfig> configs, Function<Engine.TestConfig, ScenarioResult> runner) {
+        List<Future<ScenarioResult>> futures = new ArrayList<>();
+        for (Engine.TestConfig config : configs) {
+            futures.add(executor.submit(() -> runWithPermit(config, runner)));
+        }
+
+        // Every config gets a result: a crashed or interrupted task counts as a failure, never as a missing scenario
+        List<ScenarioResult> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            Engine.TestConfig config = configs.get(i);
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int j = i; j < futures.size(); j++) {
+                    futures.get(j).cancel(true);
+                    results.add(crashed(configs.get(j), "Interrupted", "Run interrupted before the scenario finished"));
+                }
+                break;
+            } catch (Exception e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                System.err.println("   ❌ Scheduler task crashed: " + config.label + ": " + cause);
+                results.add(crashed(config, "Scheduler", String.valueOf(cause)));
+            }
+        }
+        return results;
+    }
+
+    private static ScenarioResult crashed(Engine.TestConfig config, String step, String error) {
+        ScenarioResult result = new ScenarioResult(config);
+        result.failedStep = step;
+        result.error = error;
+        return result;
+    }
+
+    /** Queues a single scenario behind its platform's permits; used by the daemon, which receives them one at a time. */
+    public CompletableFuture<ScenarioResult> submit(Engine.TestConfig config, Function<Engine.TestConfig, ScenarioResult> runner) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return runWithPermit(config, runner);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private ScenarioResult runWithPermit(Engine.TestConfig config, Function<Engine.TestConfig, ScenarioResult> runner) throws InterruptedException {
+        // Rows of one data set are capped first, so a waiting row never sits on a platform permit
+        Semaphore rows = config.dataset == null ? null : rowPermitsFor(config.dataset);
+        if (rows != null) rows.acquire();
+        try {
+            Semaphore semaphore = permitsFor(config.platform);
+            semaphore.acquire();
+            try {
+                return runner.apply(config);
+            } finally {
+                semaphore.release();
+            }
+        } finally {
+            if (rows != null) rows.release();
+        }
+    }
+
+    /** Concurrent rows per data-driven scenario: "data.parallelism" (default 4), still within the platform cap. */
+    Semaphore rowPermitsFor(String dataset) {
+        return permits.computeIfAbsent("data:" + dataset, d -> new Semaphore(Math.max(1, EngineConfig.getInt("data.parallelism", 4))));
+    }
+
+    Semaphore permitsFor(String platform) {
+        return permits.computeIfAbsent(platform.toUpperCase(), p -> new Semaphore(limitFor(p)));
+    }
+
+    static int limitFor(String platform) {
+        int fallback = EngineConfig.getInt("engine.concurrency.default", DEFAULT_LIMITS.getOrDefault(platform, 1));
+        return Math.max(1, EngineConfig.getInt("engine.concurrency." + platform, fallback));
+    }
+
+    /**
+     * Scenario threads spend nearly all their time blocked on driver HTTP calls, so virtual threads are ideal.
+     * They only exist from JDK 21; on older runtimes we fall back to a cached pool of platform threads.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "scenario-worker");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,204 @@
+import io.appium.java_client.InteractsWithApps;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps WebDriver/Appium sessions warm between scenarios.
+ * Sessions are keyed by platform + capabilities. On release the app is restarted (mobile; its data is cleared too
+ * when the session asked for noReset=false) or cookies/storage are wiped (web) instead of quitting; on acquire a
+ * session must pass a cheap round-trip health check.
+ * Sessions idle for longer than "session.pool.idleTimeoutSec" are quit by a background reaper - keep it
+ * below Appium's newCommandTimeout (60s) or the server will kill them first.
+ */
+public class SessionPool implements AutoCloseable {
+
+    interface DriverFactory {
+        WebDriver create() throws Exception;
+    }
+
+    private static class PooledSession {
+        final String key, platform, appId;
+        // noReset=false: every scenario expects a freshly installed app, so a reset also wipes its data
+        final boolean clearData;
+        final WebDriver driver;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        PooledSession(String key, String platform, WebDriver driver, String appId, boolean clearData) {
+            this.key = key; this.platform = platform; this.driver = driver; this.appId = appId; this.clearData = clearData;
+        }
+    }
+
+    private final Map<String, Deque<PooledSession>> idle = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> leased = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final long idleTimeoutMillis;
+    private final ScheduledExecutorService reaper;
+
+    public SessionPool() {
+        this(EngineConfig.getLong("session.pool.idleTimeoutSec", 45) * 1000L);
+    }
+
+    public SessionPool(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-pool-reaper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 4);
+        reaper.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ==========================================
+    // 🔑 LEASE / RETURN
+    // ==========================================
+    public WebDriver acquire(String platform, Capabilities caps, DriverFactory factory) throws Exception {
+        String key = key(platform, caps);
+        PooledSession session;
+        while ((session = pollIdle(key)) != null) {
+            if (isHealthy(session)) {
+                System.out.println("   ♻️ Reusing warm " + platform + " session");
+                leased.put(session.driver, session);
+                return session.driver;
+            }
+            evict(session, "failed health check");
+        }
+
+        WebDriver driver = factory.create();
+        leased.put(driver, new PooledSession(key, platform, driver, appId(caps), clearsData(caps)));
+        return driver;
+    }
+
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            quietQuit(driver);
+            return;
+        }
+        try {
+            reset(session);
+            session.lastUsed = System.currentTimeMillis();
+            Deque<PooledSession> queue = idle.computeIfAbsent(session.key, k -> new ArrayDeque<>());
+            synchronized (queue) { queue.addFirst(session); }
+        } catch (Exception e) {
+            evict(session, "reset failed: " + e.getMessage());
+        }
+    }
+
+    private PooledSession pollIdle(String key) {
+        Deque<PooledSession> queue = idle.get(key);
+        if (queue == null) return null;
+        synchronized (queue) { return queue.pollFirst(); }
+    }
+
+    // ==========================================
+    // 🩺 HEALTH CHECK & RESET
+    // ==========================================
+    private boolean isHealthy(PooledSession session) {
+        try {
+            // GET /timeouts is session-bound and cheap on ChromeDriver, XCUITest and UiAutomator2 alike
+            session.driver.manage().timeouts().getImplicitWaitTimeout();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        if (session.appId != null && driver instanceof InteractsWithApps) {
+            // 📱 Restart the app instead of re-creating the WDA / UiAutomator2 session
+            InteractsWithApps apps = (InteractsWithApps) driver;
+            apps.terminateApp(session.appId);
+            if (session.clearData) ((JavascriptExecutor) driver).executeScript("mobile: clearApp", Map.of("appId", session.appId));
+            apps.activateApp(session.appId);
+            return;
+        }
+
+        // 🌐 Close stray tabs and wipe cookies + storage, keep the browser process
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (int i = 1; i < handles.size(); i++) {
+            driver.switchTo().window(handles.get(i)).close();
+        }
+        driver.switchTo().window(handles.get(0));
+        driver.manage().deleteAllCookies();
+        if (driver instanceof JavascriptExecutor) {
+            try {
+                ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            } catch (Exception e) {}
+        }
+        driver.get("about:blank");
+    }
+
+    // ==========================================
+    // 🧹 EVICTION
+    // ==========================================
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        for (Deque<PooledSession> queue : idle.values()) {
+            List<PooledSession> expired = new ArrayList<>();
+            synchronized (queue) {
+                for (Iterator<PooledSession> it = queue.iterator(); it.hasNext(); ) {
+                    PooledSession session = it.next();
+                    if (session.lastUsed < cutoff) { it.remove(); expired.add(session); }
+                }
+            }
+            for (PooledSession session : expired) evict(session, "idle for more than " + idleTimeoutMillis / 1000 + "s");
+        }
+    }
+
+    private void evict(PooledSession session, String reason) {
+        System.out.println("   🗑️ Evicting " + session.platform + " session: " + reason);
+        quietQuit(session.driver);
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        try { driver.quit(); } catch (Exception e) {}
+    }
+
+    static String key(String platform, Capabilities caps) {
+        return platform.toUpperCase() + "|" + new TreeMap<>(caps.asMap());
+    }
+
+    private static String appId(Capabilities caps) {
+        for (String name : new String[]{"appium:bundleId", "bundleId", "appium:appPackage", "appPackage"}) {
+            Object value = caps.getCapability(name);
+            if (value != null) return value.toString();
+        }
+        return null;
+    }
+
+    private static boolean clearsData(Capabilities caps) {
+        Object noReset = caps.getCapability("appium:noReset");
+        if (noReset == null) noReset = caps.getCapability("noReset");
+        return noReset != null && !Boolean.parseBoolean(noReset.toString());
+    }
+
+    @Override
+    public void close() {
+        reaper.shutdownNow();
+        for (Deque<PooledSession> queue : idle.values()) {
+            synchronized (queue) {
+                for (PooledSession session : queue) quietQuit(session.driver);
+                queue.clear();
+            }
+        }
+        List<WebDriver> stillLeased;
+        synchronized (leased) { stillLeased = new ArrayList<>(leased.keySet()); leased.clear(); }
+        for (WebDriver driver : stillLeased) quietQuit(driver);
+    }
+}
@@ -0,0 +1,140 @@
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the suite across CI runners. Scenarios are sorted by their median historical duration (see
+ * {@link ResultsStore}) and handed out longest-first to whichever shard currently has the least work (LPT).
+ * Scenarios without history are estimated at the median of the known ones, or "shard.defaultMillis".
+ *
+ * The plan is deterministic for a given config list and store, so every runner computes the same split on its
+ * own. Each shard writes target/shards/shard-i-of-N.json; {@link #merge} folds those back into one run.
+ */
+final class ShardPlanner {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Shard(int index, int count) {
+        /** Parses "i/N" with 1-based i. */
+        static Shard parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            try {
+                if (parts.length == 2) {
+                    Shard shard = new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+                    if (shard.count >= 1 && shard.index >= 1 && shard.index <= shard.count) return shard;
+                }
+            } catch (NumberFormatException e) {}
+            throw new IllegalArgumentException("Invalid --shard '" + spec + "', expected i/N with 1 <= i <= N");
+        }
+
+        String fileName() { return "shard-" + index + "-of-" + count + ".json"; }
+
+        @Override
+        public String toString() { return index + "/" + count; }
+    }
+
+    private ShardPlanner() {}
+
+    // ==========================================
+    // 🧮 PLANNING
+    // ==========================================
+    static List<List<Engine.TestConfig>> plan(List<Engine.TestConfig> configs, int shards, Map<String, Long> medians) {
+        long fallback = medians.isEmpty()
+                ? EngineConfig.getLong("shard.defaultMillis", 60_000)
+                : ResultsStore.median(new ArrayList<>(medians.values()));
+
+        // Longest first; label breaks ties so every runner sorts identically
+        List<Engine.TestConfig> ordered = new ArrayList<>(configs);
+        ordered.sort(Comparator.<Engine.TestConfig>comparingLong(c -> medians.getOrDefault(c.label, fallback)).reversed()
+                .thenComparing(c -> c.label));
+
+        List<List<Engine.TestConfig>> plan = new ArrayList<>();
+        long[] load = new long[shards];
+        for (int i = 0; i < shards; i++) plan.add(new ArrayList<>());
+        for (Engine.TestConfig config : ordered) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) if (load[i] < load[lightest]) lightest = i;
+            plan.get(lightest).add(config);
+            load[lightest] += medians.getOrDefault(config.label, fallback);
+        }
+        return plan;
+    }
+
+    /** The configs this runner should execute. Prints the whole plan so a CI log shows where everything went. */
+    static List<Engine.TestConfig> select(List<Engine.TestConfig> configs, Shard shard) {
+        Map<String, Long> medians = ResultsStore.open().medians();
+        List<List<Engine.TestConfig>> plan = plan(configs, shard.count(), medians);
+        System.out.println("🧩 Shard plan (" + configs.size() + " scenarios, " + medians.size() + " with history):");
+        for (int i = 0; i < plan.size(); i++) {
+            long estimate = plan.get(i).stream().mapToLong(c -> medians.getOrDefault(c.label, 0L)).sum();
+            System.out.println(String.format("   %s shard %d: %d scenario(s), ~%.1fs known",
+                    i + 1 == shard.index() ? "👉" : "  ", i + 1, plan.get(i).size(), estimate / 1000.0));
+        }
+        return plan.get(shard.index() - 1);
+    }
+
+    // ==========================================
+    // 📦 SHARD REPORTS
+    // ==========================================
+    static void writeReport(Path dir, Shard shard, List<ScenarioResult> results, long wallMillis) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shard", shard.index());
+        report.put("of", shard.count());
+        write(dir.resolve(shard.fileName()), report, results, wallMillis);
+    }
+
+    record Merged(List<ScenarioResult> results, long wallMillis, int shardsFound, int shardsExpected) {}
+
+    static void writeMerged(Path file, Merged merged) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shards", merged.shardsFound());
+        report.put("of", merged.shardsExpected());
+        write(file, report, merged.results(), merged.wallMillis());
+    }
+
+    private static void write(Path file, Map<String, Object> report, List<ScenarioResult> results, long wallMillis) {
+        report.put("wallMillis", wallMillis);
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (ScenarioResult result : results) scenarios.add(result.toMap());
+        report.put("results", scenarios);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            MAPPER.writeValue(file.toFile(), report);
+            System.out.println("🧩 Results written to " + file);
+        } catch (Exception e) {
+            System.err.println("   ❌ Failed to write " + file + ": " + e.getMessage());
+        }
+    }
+
+    /** Reads every shard-*.json under dir (recursively, artifact downloads nest them) into one result list. */
+    static Merged merge(Path dir) throws Exception {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(dir)) {
+            try (var walk = Files.walk(dir)) {
+                walk.filter(p -> p.getFileName().toString().matches("shard-\\d+-of-\\d+\\.json")).sorted().forEach(files::add);
+            }
+        }
+        List<ScenarioResult> results = new ArrayList<>();
+        long wallMillis = 0;
+        int expected = 0;
+        for (Path file : files) {
+            Map<String, Object> report = MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Object>>() {});
+            // Shards run side by side, so the run took as long as the slowest one
+            wallMillis = Math.max(wallMillis, ((Number) report.getOrDefault("wallMillis", 0)).longValue());
+            expected = Math.max(expected, ((Number) report.getOrDefault("of", 0)).intValue());
+            for (Object entry : (List<?>) report.getOrDefault("results", List.of())) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> map = (Map<String, Object>) entry;
+                results.add(ScenarioResult.fromMap(map));
+            }
+        }
+        return new Merged(results, wallMillis, files.size(), expected);
+    }
+}
@@ -0,0 +1,155 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Slack webhook notifier with its own worker thread.
+ * Scenario threads only {@link #post} into a bounded buffer ("slack.bufferSize", default 256; overflow is
+ * counted, never blocks). Lines are collected into one digest that is sent on {@link #flush}, with retries and
+ * exponential backoff on 429 (honouring Retry-After) and 5xx responses.
+ * Webhook: "slack.webhook.url" / SLACK_WEBHOOK_URL.
+ */
+public class SlackNotifier {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_DIGEST_LINES = 200;
+    private static SlackNotifier shared;
+
+    private final String webhookUrl;
+    private final int maxAttempts;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final BlockingQueue<Object> queue;
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final List<String> digest = new ArrayList<>(); // worker thread only
+    private final Thread worker;
+
+    private record FlushRequest(String header, CompletableFuture<Boolean> done) {}
+
+    public SlackNotifier(String webhookUrl, int bufferSize, int maxAttempts) {
+        this.webhookUrl = webhookUrl;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.worker = new Thread(this::drain, "slack-notifier");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public static synchronized SlackNotifier get() {
+        if (shared == null) {
+            shared = new SlackNotifier(EngineConfig.get("slack.webhook.url", null),
+                    EngineConfig.getInt("slack.bufferSize", 256), EngineConfig.getInt("slack.maxAttempts", 5));
+        }
+        return shared;
+    }
+
+    /** Adds a line to the current digest. Never blocks; drops (and counts) when the buffer is full. */
+    public void post(String message) {
+        if (!queue.offer(message)) dropped.incrementAndGet();
+    }
+
+    /** Sends everything posted so far as one message. Completes with true when Slack accepted it. */
+    public CompletableFuture<Boolean> flush(String header) {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        try {
+            queue.put(new FlushRequest(header, done));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done.complete(false);
+        }
+        return done;
+    }
+
+    /** Flushes the pending digest and waits for delivery (bounded by the timeout). */
+    public void shutdown(String header, Duration timeout) {
+        try {
+            flush(header).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            System.err.println("   ⚠️ Slack digest not delivered before shutdown: " + e.getMessage());
+        }
+        worker.interrupt();
+    }
+
+    // ==========================================
+    // 🧵 WORKER
+    // ==========================================
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Object entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (entry instanceof FlushRequest request) {
+                request.done().complete(sendDigest(request.header()));
+            } else if (digest.size() < MAX_DIGEST_LINES) {
+                digest.add((String) entry);
+            } else {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean sendDigest(String header) {
+        if (digest.isEmpty() && dropped.get() == 0) return true;
+
+        StringBuilder text = new StringBuilder();
+        if (header != null && !header.isEmpty()) text.append(header).append("\n");
+        for (String line : digest) text.append(line).append("\n");
+        int lost = dropped.getAndSet(0);
+        if (lost > 0) text.append("… ").append(lost).append(" more message(s) dropped (buffer full)\n");
+        digest.clear();
+
+        if (webhookUrl == null || webhookUrl.isEmpty()) return false;
+        try {
+            return send(MAPPER.createObjectNode().put("text", text.toString().trim()).toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean send(String jsonPayload) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(webhookUrl))
+                .timeout(Duration.ofSeconds(15))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonPayload))
+                .build();
+
+        long backoffMillis = 1000;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            long waitMillis = backoffMillis;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                int code = response.statusCode();
+                if (code >= 200 && code < 300) return true;
+                if (code != 429 && code < 500) {
+                    System.err.println("   ❌ Slack rejected digest (" + code + "): " + response.body());
+                    return false;
+                }
+                if (code == 429) {
+                    waitMillis = response.headers().firstValue("Retry-After")
+                            .map(v -> { try { return Long.parseLong(v.trim()) * 1000L; } catch (NumberFormatException e) { return null; } })
+                            .orElse(backoffMillis);
+                }
+                System.err.println("   ⚠️ Slack returned " + code + ", retry " + attempt + "/" + maxAttempts);
+            } catch (IOException e) {
+                System.err.println("   ⚠️ Slack unreachable (" + e.getMessage() + "), retry " + attempt + "/" + maxAttempts);
+            }
+            if (attempt < maxAttempts) Thread.sleep(waitMillis);
+            backoffMillis = Math.min(backoffMillis * 2, 30_000);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,237 @@
+import org.monte.screenrecorder.ScreenRecorder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background queue that finalises recordings (Base64 decode, AVI move, ffmpeg transcode) off the scenario
+ * thread, so the next scenario can start while the previous video is still encoding. Monte is stopped before its
+ * job is queued, on the scenario thread.
+ * Concurrency: "video.encoders" (default 2). Queue bound: "video.queueCapacity" (default 16); when the queue is
+ * full the submitting scenario runs the job itself, which throttles the run instead of piling up work.
+ */
+public class VideoPipeline {
+    private static final VideoPipeline SHARED = new VideoPipeline(
+            EngineConfig.getInt("video.encoders", 2), EngineConfig.getInt("video.queueCapacity", 16));
+
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+    VideoPipeline(int encoders, int queueCapacity) {
+        int threads = Math.max(1, encoders);
+        AtomicInteger n = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "video-encoder-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public static VideoPipeline get() { return SHARED; }
+
+    // ==========================================
+    // 📱 MOBILE: stream Base64 -> raw mp4 -> QuickTime mp4
+    // ==========================================
+    public void submitMobile(String label, String base64Video) {
+        submit(label, () -> {
+            String baseName = label + "_Mobile_Video";
+            File rawFile = new File("target/" + baseName + "_raw.mp4");
+            File finalFile = new File("target/" + baseName + ".mp4");
+            rawFile.getParentFile().mkdirs();
+
+            // Decode while writing: never materialise the whole video as a byte[]
+            try (InputStream decoded = Base64.getMimeDecoder().wrap(asciiStream(base64Video))) {
+                Files.copy(decoded, rawFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            System.out.println("   🔄 Optimizing Mobile Video for QuickTime...");
+            // Note: Mobile screens are already even dimensions, so it rarely fails here.
+            String logs = ffmpeg("ffmpeg", "-y", "-i", rawFile.getAbsolutePath(), "-c:v", "libx264", "-pix_fmt", "yuv420p", "-preset", "fast", finalFile.getAbsolutePath());
+
+            if (finalFile.exists() && finalFile.length() > 0) {
+                rawFile.delete();
+                System.out.println("   ✅ Mobile Video saved: " + finalFile.getAbsolutePath());
+            } else {
+                throw new IllegalStateException("ffmpeg produced no output, raw video kept at " + rawFile.getAbsolutePath() + "\n" + logs);
+            }
+        });
+    }
+
+    // ==========================================
+    // 🌐 WEB & MWEB: stop Monte -> AVI -> QuickTime mp4
+    // ==========================================
+    /**
+     * Stops Monte on the calling (scenario) thread, then queues the AVI move and transcode. Monte films the whole
+     * desktop, so left running until an encoder is free it would record the next scenario's browser too.
+     */
+    public void submitWeb(String label, ScreenRecorder screenRecorder) {
+        try {
+            Thread.sleep(EngineConfig.getLong("video.web.tailMs", 1000)); // Give Monte a second to capture the final frames
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<File> createdFiles;
+        try {
+            screenRecorder.stop();
+            createdFiles = screenRecorder.getCreatedMovieFiles();
+        } catch (Exception e) {
+            System.err.println("   ❌ Failed to stop recording for " + label + ": " + e.getMessage());
+            failures.add(label + ": " + e.getMessage());
+            return;
+        }
+        if (createdFiles == null || createdFiles.isEmpty()) return;
+
+        File sourceAvi = createdFiles.get(0);
+        submit(label, () -> {
+            File aviFile = new File("target/" + label + "_WEB_Video.avi");
+            File mp4File = new File("target/" + label + "_WEB_Video.mp4");
+
+            if (aviFile.exists()) aviFile.delete();
+            if (mp4File.exists()) mp4File.delete();
+
+            Files.move(sourceAvi.toPath(), aviFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            System.out.println("   🔄 Converting Web Video to QuickTime MP4...");
+
+            // THE FIX: Added the scale filter to force even-numbered dimensions
+            String logs = ffmpeg(
+                    "ffmpeg", "-y", "-i", aviFile.getAbsolutePath(),
+                    "-vf", "scale=trunc(iw/2)*2:trunc(ih/2)*2", // <--- MAGIC PIXEL FIX
+                    "-c:v", "libx264", "-pix_fmt", "yuv420p", "-preset", "fast",
+                    mp4File.getAbsolutePath()
+            );
+
+            if (mp4File.exists() && mp4File.length() > 0) {
+                aviFile.delete(); // Cleanup AVI only if MP4 succeeded
+                System.out.println("   ✅ Web Video saved: " + mp4File.getAbsolutePath());
+            } else {
+                throw new IllegalStateException("MP4 conversion failed, original AVI kept at " + aviFile.getAbsolutePath() + "\n" + logs);
+            }
+        });
+    }
+
+    // ==========================================
+    // 🎞️ FAILURE REPLAY: frames + annotations (+ optional clip)
+    // ==========================================
+    /** Replaces target/failures/<label>/ with a failed scenario's ring buffer and, with "replay.clip=true", stitches it. */
+    public void submitReplay(String label, FailureReplay replay) {
+        List<FailureReplay.Frame> frames = replay.frames();
+        int dropped = replay.dropped();
+        boolean clip = EngineConfig.getBoolean("replay.clip", false);
+        submit(label, () -> {
+            File dir = new File("target/failures/" + label);
+            // A rerun of the same scenario must not pick up an earlier failure's frames, steps or clip
+            File[] stale = dir.listFiles();
+            if (stale != null) for (File file : stale) Files.deleteIfExists(file.toPath());
+            dir.mkdirs();
+            StringBuilder steps = new StringBuilder();
+            if (dropped > 0) steps.append("# ").append(dropped).append(" earlier frame(s) not kept\n");
+            for (int i = 0; i < frames.size(); i++) {
+                FailureReplay.Frame frame = frames.get(i);
+                String name = String.format("frame-%03d.png", i + 1);
+                Files.write(new File(dir, name).toPath(), frame.png());
+                steps.append(name).append("  ").append(frame.ok() ? "✅" : "🚨").append(" line ").append(frame.line())
+                        .append(": ").append(frame.text()).append(" (").append(frame.millis()).append(" ms, ").append(frame.at()).append(")\n");
+            }
+            Files.writeString(new File(dir, "steps.txt").toPath(), steps.toString(), StandardCharsets.UTF_8);
+            System.out.println("   🎞️ Failure replay saved: " + dir.getAbsolutePath() + " (" + frames.size() + " frame(s))");
+            if (!clip) return;
+
+            File mp4File = new File(dir, "replay.mp4");
+            // One frame per second; the scale keeps libx264 happy with odd screenshot sizes
+            String logs = ffmpeg("ffmpeg", "-y", "-framerate", "1", "-i", new File(dir, "frame-%03d.png").getAbsolutePath(),
+                    "-vf", "scale=trunc(iw/2)*2:trunc(ih/2)*2", "-c:v", "libx264", "-pix_fmt", "yuv420p", "-preset", "fast",
+                    mp4File.getAbsolutePath());
+            if (!mp4File.exists() || mp4File.length() == 0) {
+                throw new IllegalStateException("Replay clip failed, frames kept in " + dir.getAbsolutePath() + "\n" + logs);
+            }
+        });
+    }
+
+    // ==========================================
+    // ⏳ LIFECYCLE
+    // ==========================================
+    interface Job {
+        void run() throws Exception;
+    }
+
+    public void submit(String label, Job job) {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                job.run();
+            } catch (Exception e) {
+                System.err.println("   ❌ Failed to save video for " + label + ": " + e.getMessage());
+                failures.add(label + ": " + e.getMessage());
+            } finally {
+                RunMetrics.get().recordPhase("video_encode", label, start);
+            }
+        });
+    }
+
+    /** Blocks until every queued job has finished and returns the failed encodes. */
+    public List<String> awaitCompletion(long timeoutSeconds) {
+        int pending = executor.getActiveCount() + executor.getQueue().size();
+        if (pending > 0) System.out.println("🎬 Waiting for " + pending + " video job(s) to finish...");
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                failures.add("Timed out after " + timeoutSeconds + "s with " + executor.getQueue().size() + " job(s) still queued");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new ArrayList<>(failures);
+    }
+
+    private static String ffmpeg(String... command) throws Exception {
+        Process p = new ProcessBuilder(command).redirectErrorStream(true).start();
+        // Capture FFmpeg logs just in case it crashes
+        StringBuilder ffmpegLogs = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ffmpegLogs.append(line).append("\n");
+            }
+        }
+        p.waitFor();
+        return ffmpegLogs.toString();
+    }
+
+    /** Reads a Base64 string as ASCII bytes without copying it into a second buffer. */
+    private static InputStream asciiStream(String s) {
+        return new InputStream() {
+            private int pos;
+
+            @Override
+            public int read() {
+                return pos < s.length() ? s.charAt(pos++) & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) return 0;
+                if (pos >= s.length()) return -1;
+                int n = Math.min(len, s.length() - pos);
+                for (int i = 0; i < n; i++) b[off + i] = (byte) s.charAt(pos++);
+                return n;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Explicit-wait engine. Implicit waits are switched off so a failed lookup costs exactly one round trip,
+ * and conditions are polled with a growing interval: quick first checks for elements that are already there,
+ * then backing off so a slow device is not flooded with findElement calls.
+ *
+ * In smart mode ("wait.smart=true") a "Wait for N" step that is followed by a Tap/Type/Verify waits until that
+ * step's element is visible instead of sleeping for the full N seconds. The time not slept is tracked.
+ */
+public class WaitEngine {
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final long minPollMillis;
+    private final long maxPollMillis;
+    private final boolean smart;
+    private long savedMillis;
+    private long waitedNanos;
+
+    public WaitEngine(WebDriver driver) {
+        this(driver,
+                Duration.ofSeconds(EngineConfig.getLong("wait.timeoutSec", 15)),
+                EngineConfig.getLong("wait.pollMinMs", 100),
+                EngineConfig.getLong("wait.pollMaxMs", 1000),
+                EngineConfig.getBoolean("wait.smart", false));
+    }
+
+    public WaitEngine(WebDriver driver, Duration timeout, long minPollMillis, long maxPollMillis, boolean smart) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.minPollMillis = Math.max(1, minPollMillis);
+        this.maxPollMillis = Math.max(this.minPollMillis, maxPollMillis);
+        this.smart = smart;
+    }
+
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(condition, timeout);
+    }
+
+    public <T> T until(Function<? super WebDriver, T> condition, Duration limit) {
+        long start = System.nanoTime();
+        try {
+            return poll(condition, limit, start + limit.toNanos());
+        } finally {
+            waitedNanos += System.nanoTime() - start;
+        }
+    }
+
+    private <T> T poll(Function<? super WebDriver, T> condition, Duration limit, long deadline) {
+        long poll = minPollMillis;
+        RuntimeException lastError = null;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) return value;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Timed out after " + limit.toSeconds() + "s waiting for " + condition, lastError);
+            }
+            sleep(Math.min(poll, remainingMillis));
+            poll = Math.min(maxPollMillis, poll + poll / 2);
+        }
+    }
+
+    /**
+     * A scenario "Wait for N". Sleeps N seconds, unless smart mode is on and the next step's locator is known,
+     * in which case it returns as soon as that element is visible (still capped at N seconds).
+     */
+    public void pause(int seconds, By nextLocator) {
+        long budgetMillis = seconds * 1000L;
+        if (!smart || nextLocator == null) {
+            sleep(budgetMillis);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            until(ExpectedConditions.visibilityOfElementLocated(nextLocator), Duration.ofMillis(budgetMillis));
+        } catch (TimeoutException e) {
+            // Not ready within N seconds - same outcome as the old fixed sleep, the next step will decide
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        savedMillis += Math.max(0, budgetMillis - elapsedMillis);
+    }
+
+    public long getSavedMillis() { return savedMillis; }
+    public long getWaitedMillis() { return waitedNanos / 1_000_000; }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try { Thread.sleep(millis); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+}
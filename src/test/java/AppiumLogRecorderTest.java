@@ -0,0 +1,161 @@
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class AppiumLogRecorderTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // The Appium server log checked in next to the sources
+    private static final Path BUNDLED_LOG = Paths.get("src", "main", "java", "appium.log");
+    private static final String SESSION = "[HTTP] --> POST /session/2fe32ccc-0185-46dc-8d13-9eced58aa739";
+    private static final String FOUND = "[XCUITestDriver@b76c] Responding to client with driver.findElement() result: ";
+
+    private Path dir;
+    private Path log;
+    private Path locators;
+    private Path steps;
+
+    @BeforeMethod
+    public void tempFiles() throws Exception {
+        dir = Files.createTempDirectory("recorder");
+        log = dir.resolve("appium.log");
+        locators = dir.resolve("locators.json");
+        steps = dir.resolve("steps.txt");
+    }
+
+    private void record(boolean fresh) throws Exception {
+        try (AppiumLogRecorder recorder = new AppiumLogRecorder(log, locators, steps)) {
+            recorder.open(fresh);
+            recorder.drain();
+        }
+    }
+
+    private Map<String, String> locators() throws Exception {
+        return MAPPER.readValue(locators.toFile(), new TypeReference<LinkedHashMap<String, String>>() {});
+    }
+
+    private static String lines(String... lines) {
+        return String.join("\n", lines) + "\n";
+    }
+
+    // ==========================================
+    // 📜 BUNDLED LOG
+    // ==========================================
+    @Test
+    public void bundledLogBecomesPageObjectsAndSteps() throws Exception {
+        Files.copy(BUNDLED_LOG, log);
+        record(true);
+        // Class-chain lookups have no page-object prefix and are skipped; accessibility ids are recorded
+        assertEquals(List.copyOf(locators().entrySet()), List.of(
+                Map.entry("BackIconButton", "accessId=back icon"),
+                Map.entry("UlkaUnisexSalonAndSpaButton", "accessId=Ulka Unisex Salon and Spa"),
+                Map.entry("HeaderIconBackDPButton", "accessId=headerIconBackDP"),
+                Map.entry("NewsButton", "accessId=news")));
+        assertEquals(Files.readString(steps), lines("Tap on BackIconButton", "Wait for 2", "Tap on UlkaUnisexSalonAndSpaButton", "Wait for 2",
+                "Tap on HeaderIconBackDPButton", "Wait for 2", "Tap on NewsButton", "Wait for 2"));
+    }
+
+    @Test
+    public void tailingInChunksMatchesOnePass() throws Exception {
+        byte[] all = Files.readAllBytes(BUNDLED_LOG);
+        Files.createFile(log);
+        try (AppiumLogRecorder recorder = new AppiumLogRecorder(log, locators, steps)) {
+            recorder.open(true);
+            // Cut mid-line on purpose: an unfinished line waits for the rest of it
+            for (int from = 0; from < all.length; from += 7919) {
+                int to = Math.min(all.length, from + 7919);
+                Files.write(log, Arrays.copyOfRange(all, from, to), StandardOpenOption.APPEND);
+                recorder.drain();
+            }
+        }
+        String chunked = Files.readString(steps);
+        Map<String, String> chunkedLocators = locators();
+
+        Files.delete(log);
+        Files.copy(BUNDLED_LOG, log);
+        record(true);
+        assertEquals(chunked, Files.readString(steps));
+        assertEquals(chunkedLocators, locators());
+    }
+
+    // ==========================================
+    // ✍️ APPENDING TO EXISTING FILES
+    // ==========================================
+    @Test
+    public void appendsBeforeTheClosingBraceAndReusesKeys() throws Exception {
+        Files.copy(BUNDLED_LOG, log);
+        Files.writeString(locators, "{\n  \"BackIconButton\": \"accessId=back icon\",\n  \"NewsButton\": \"accessId=other\"\n}   \n\n");
+        Files.writeString(steps, "Open Browser");
+        record(false);
+
+        Map<String, String> found = locators();
+        assertEquals(List.copyOf(found.keySet()), List.of("BackIconButton", "NewsButton", "UlkaUnisexSalonAndSpaButton", "HeaderIconBackDPButton", "NewsButton2"));
+        assertEquals(found.get("NewsButton"), "accessId=other");
+        assertEquals(found.get("NewsButton2"), "accessId=news");
+        assertEquals(Files.readString(steps), lines("Open Browser", "Tap on BackIconButton", "Wait for 2", "Tap on UlkaUnisexSalonAndSpaButton",
+                "Wait for 2", "Tap on HeaderIconBackDPButton", "Wait for 2", "Tap on NewsButton2", "Wait for 2"));
+        assertEquals(Files.readString(locators), "{\n  \"BackIconButton\": \"accessId=back icon\",\n  \"NewsButton\": \"accessId=other\",\n"
+                + "  \"UlkaUnisexSalonAndSpaButton\": \"accessId=Ulka Unisex Salon and Spa\",\n  \"HeaderIconBackDPButton\": \"accessId=headerIconBackDP\",\n"
+                + "  \"NewsButton2\": \"accessId=news\"\n}\n");
+    }
+
+    @Test
+    public void typedTextIsUnescapedOntoOneLine() throws Exception {
+        Files.writeString(log, lines(
+                "2026-02-27 01:59:42:545 [2fe32ccc]" + SESSION + "/element {\"using\":\"xpath\",\"value\":\"//XCUIElementTypeTextField[@name=\\\"Search \\\\ Find\\\"]\"}",
+                "2026-02-27 01:59:42:970 [2fe32ccc]" + FOUND + "{\"ELEMENT\":\"E1\"}",
+                "2026-02-27 01:59:43:100 [2fe32ccc]" + SESSION + "/element/E1/value {\"text\":\"caf\\u00e9 \\\"bar\\\"\\n\"}",
+                "2026-02-27 01:59:43:200 [2fe32ccc]" + SESSION + "/element/E1/clear {}",
+                "2026-02-27 01:59:43:300 [2fe32ccc]" + SESSION + "/element/UNKNOWN/click {}"), StandardCharsets.UTF_8);
+        record(true);
+        assertEquals(locators(), Map.of("SearchFindField", "xpath=//XCUIElementTypeTextField[@name=\"Search \\ Find\"]"));
+        assertEquals(Files.readString(steps, StandardCharsets.UTF_8), lines("Type café \"bar\" in SearchFindField", "Wait for 1"));
+    }
+
+    // ==========================================
+    // 🧮 MATCHER, UNESCAPER, NAMES
+    // ==========================================
+    @Test
+    public void anchoredSearchFindsThePatternAnywhere() {
+        byte[] pattern = "--> POST".getBytes(StandardCharsets.US_ASCII);
+        byte[] line = "x [HTTP] --> POST /session/".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(AppiumLogRecorder.indexOf(line, pattern, 2, 0, line.length), 9);
+        assertEquals(AppiumLogRecorder.indexOf(line, pattern, 0, 0, line.length), 9);
+        assertEquals(AppiumLogRecorder.indexOf(line, pattern, 2, 0, 16), -1, "match must end before 'to'");
+        assertEquals(AppiumLogRecorder.indexOf(line, pattern, 2, 10, line.length), -1, "match must start at or after 'from'");
+    }
+
+    @Test
+    public void jsonStringsAreDecoded() {
+        byte[] key = "\"text\":\"".getBytes(StandardCharsets.US_ASCII);
+        byte[] json = "{\"text\":\"a\\tb\\/c\\\\d\\u0041\\\"\",\"x\":1}".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(AppiumLogRecorder.jsonString(json, key, 0, json.length), "a\tb/c\\dA\"");
+        assertNull(AppiumLogRecorder.jsonString(json, "\"y\":\"".getBytes(StandardCharsets.US_ASCII), 0, json.length));
+        assertNull(AppiumLogRecorder.jsonString(json, key, 0, 12), "unterminated within the line");
+    }
+
+    @Test
+    public void locatorsAndNames() {
+        assertEquals(AppiumLogRecorder.toLocator("accessibility id", "news"), "accessId=news");
+        assertEquals(AppiumLogRecorder.toLocator("class name", "XCUIElementTypeButton"), "xpath=//XCUIElementTypeButton");
+        assertNull(AppiumLogRecorder.toLocator("-ios class chain", "**/XCUIElementTypeCell"));
+        assertEquals(AppiumLogRecorder.nameFor("accessId=back icon", "Button"), "BackIconButton");
+        assertEquals(AppiumLogRecorder.nameFor("xpath=//XCUIElementTypeStaticText[@label='Sign in']", "Button"), "SignInText");
+        assertEquals(AppiumLogRecorder.nameFor("xpath=//XCUIElementTypeButton", "Button"), "Button");
+        assertEquals(AppiumLogRecorder.nameFor("id=2fa", "Field"), "E2faField");
+        assertEquals(AppiumLogRecorder.nameFor("xpath=//*[@index='3']", "Field"), "ElementField");
+    }
+}
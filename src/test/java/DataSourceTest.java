@@ -0,0 +1,119 @@
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class DataSourceTest {
+
+    // ==========================================
+    // 📄 CSV
+    // ==========================================
+    @Test
+    public void csvRowsAreKeyedByTrimmedHeader() throws Exception {
+        List<Map<String, String>> rows = DataSource.parseCsv(" mobile , search\n111,pizza\n222,cafes\n");
+        assertEquals(rows, List.of(Map.of("mobile", "111", "search", "pizza"), Map.of("mobile", "222", "search", "cafes")));
+    }
+
+    @Test
+    public void csvQuotingKeepsCommasQuotesAndBlanks() throws Exception {
+        List<Map<String, String>> rows = DataSource.parseCsv("a,b\r\n\"x, y\",\"say \"\"hi\"\"\"\r\n\"\",z\r\n");
+        assertEquals(rows.get(0), Map.of("a", "x, y", "b", "say \"hi\""));
+        assertEquals(rows.get(1), Map.of("a", "", "b", "z"));
+    }
+
+    @Test
+    public void csvSkipsBlankLinesAndPadsShortRows() throws Exception {
+        List<Map<String, String>> rows = DataSource.parseCsv("a,b\n\n1\n\n2,3");
+        assertEquals(rows, List.of(Map.of("a", "1", "b", ""), Map.of("a", "2", "b", "3")));
+    }
+
+    @Test
+    public void csvRejectsTooWideRowsAndOpenQuotes() {
+        Exception wide = expectThrows(Exception.class, () -> DataSource.parseCsv("a,b\n1,2,3\n"));
+        assertTrue(wide.getMessage().contains("row 2 has 3 values for 2 columns"), wide.getMessage());
+        expectThrows(Exception.class, () -> DataSource.parseCsv("a\n\"open\n"));
+    }
+
+    // ==========================================
+    // 🧾 JSON
+    // ==========================================
+    @Test
+    public void jsonRowsStringifyValues() throws Exception {
+        byte[] json = "[{\"query\": \"Hotels\", \"count\": 3, \"flag\": true, \"tags\": [\"a\"]}]".getBytes(StandardCharsets.UTF_8);
+        assertEquals(DataSource.parseJson(json), List.of(Map.of("query", "Hotels", "count", "3", "flag", "true", "tags", "[\"a\"]")));
+    }
+
+    @Test
+    public void jsonMustBeAnArrayOfObjects() {
+        expectThrows(Exception.class, () -> DataSource.parseJson("{\"query\": \"Hotels\"}".getBytes(StandardCharsets.UTF_8)));
+        expectThrows(Exception.class, () -> DataSource.parseJson("[\"Hotels\"]".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // ==========================================
+    // 🔁 ${var} SUBSTITUTION
+    // ==========================================
+    @Test
+    public void substituteFillsEveryPlaceholder() throws Exception {
+        byte[] scenario = "Type ${mobile} in Mobile_Input\r\nType ${search} and ${search} in Search_Box".getBytes(StandardCharsets.UTF_8);
+        byte[] out = ScenarioCompiler.substitute("s.txt", scenario, Map.of("mobile", "111", "search", "a$1\\b"));
+        assertEquals(new String(out, StandardCharsets.UTF_8), "Type 111 in Mobile_Input\nType a$1\\b and a$1\\b in Search_Box");
+    }
+
+    @Test
+    public void substituteReportsEveryMissingColumn() {
+        ScenarioCompiler.ScenarioCompileException e = expectThrows(ScenarioCompiler.ScenarioCompileException.class,
+                () -> ScenarioCompiler.substitute("s.txt", "Type ${a} in X\nType ${b} in Y".getBytes(StandardCharsets.UTF_8), Map.of()));
+        assertEquals(e.getErrors(), List.of("line 1: No data column for ${a}", "line 2: No data column for ${b}"));
+    }
+
+    @Test
+    public void substituteRejectsLineBreaksInValues() throws Exception {
+        // Quoted CSV values may span lines; substituted into a step they would become a second command
+        Map<String, String> row = DataSource.parseCsv("search\n\"pizza\nOpen Browser\"\n").get(0);
+        ScenarioCompiler.ScenarioCompileException e = expectThrows(ScenarioCompiler.ScenarioCompileException.class,
+                () -> ScenarioCompiler.substitute("s.txt", "Type ${search} in Search_Box".getBytes(StandardCharsets.UTF_8), row));
+        assertEquals(e.getErrors(), List.of("line 1: Data value for ${search} contains a line break"));
+        expectThrows(ScenarioCompiler.ScenarioCompileException.class,
+                () -> ScenarioCompiler.substitute("s.txt", "Type ${v} in X".getBytes(StandardCharsets.UTF_8), Map.of("v", "a\rb")));
+    }
+
+    // ==========================================
+    // 📋 BUNDLED EXAMPLES
+    // ==========================================
+    @Test
+    public void exampleDataSetsCompileForEveryRow() throws Exception {
+        for (String[] example : new String[][] {
+                {"login.json", "login_rows.txt", "login_rows.csv"},
+                {"mweb_login.json", "mweb_search_rows.txt", "mweb_search_rows.json"}}) {
+            List<Map<String, String>> rows = DataSource.load(example[2]);
+            assertTrue(rows.size() > 1, example[2]);
+            List<ScenarioPlan> plans = new ArrayList<>();
+            for (Map<String, String> row : rows) plans.add(ScenarioCompiler.compileResources(example[0], example[1], row));
+            assertEquals(plans.stream().map(ScenarioPlan::hash).distinct().count(), (long) rows.size(), example[1]);
+        }
+    }
+
+    @Test
+    public void rowsAreSummarisedPerDataset() {
+        Engine.TestConfig base = new Engine.TestConfig("login.json", "login_rows.txt", "WEB", "login_rows.csv");
+        List<ScenarioResult> results = new ArrayList<>();
+        for (int r = 1; r <= 3; r++) {
+            ScenarioResult result = new ScenarioResult(base.withRow(r, Map.of()));
+            result.passed = r != 2;
+            if (r == 2) {
+                result.failedStep = "Tap on Login_With_OTP_Btn";
+                result.error = "boom";
+            }
+            results.add(result);
+        }
+        results.add(new ScenarioResult(new Engine.TestConfig("login.json", "login.txt", "WEB")));
+        assertEquals(Engine.rowSummaries(results),
+                List.of("📋🚨 login_rows: 2/3 rows passed | failed rows: 2\n   Row 2 | Step: [Tap on Login_With_OTP_Btn] Error: boom"));
+    }
+}
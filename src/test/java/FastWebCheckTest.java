@@ -0,0 +1,87 @@
+import com.sun.net.httpserver.HttpServer;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * The fast web profile against test-pages/ served locally, like scripts/check-fast-web.sh: the scenario passes
+ * only if the page renders while its image and its "third-party" script are blocked. Skipped without Chrome.
+ */
+public class FastWebCheckTest {
+    // fast_web_check.txt navigates to http://localhost:8765/fast/index.html
+    private static final int PORT = 8765;
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "web.fast", "true",
+            "web.fast.blockUrls", "*tracker.js*",
+            "recording.mode", "off",
+            "results.dir", "target/fast-web-check");
+
+    private HttpServer server;
+
+    @BeforeClass
+    public void servePages() throws Exception {
+        if (!chromeInstalled()) throw new SkipException("Chrome is not installed");
+        Path root = Paths.get("test-pages").toAbsolutePath().normalize();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                Path file = root.resolve(exchange.getRequestURI().getPath().substring(1)).normalize();
+                if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                String name = file.getFileName().toString();
+                exchange.getResponseHeaders().set("Content-Type", name.endsWith(".html") ? "text/html; charset=utf-8"
+                        : name.endsWith(".js") ? "text/javascript" : name.endsWith(".png") ? "image/png" : "application/octet-stream");
+                byte[] body = Files.readAllBytes(file);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        server.start();
+        PROPERTIES.forEach(System::setProperty);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopPages() {
+        if (server != null) server.stop(0);
+        PROPERTIES.keySet().forEach(System::clearProperty);
+    }
+
+    private static boolean chromeInstalled() {
+        List<String> names = List.of("google-chrome", "google-chrome-stable", "chromium", "chromium-browser", "chrome.exe");
+        for (String dir : System.getenv().getOrDefault("PATH", "").split(File.pathSeparator)) {
+            for (String name : names) {
+                if (Files.isExecutable(Paths.get(dir, name))) return true;
+            }
+        }
+        return Files.isExecutable(Paths.get("/Applications/Google Chrome.app/Contents/MacOS/Google Chrome"));
+    }
+
+    private static void check(String platform) {
+        ScenarioResult result = Engine.runFullTest(new Engine.TestConfig("fast_web_check.json", "fast_web_check.txt", platform));
+        assertTrue(result.isPassed(), platform + " failed at [" + result.getFailedStep() + "]: " + result.getError());
+    }
+
+    @Test
+    public void desktopBlocksImagesAndScripts() {
+        check("WEB");
+    }
+
+    @Test
+    public void mobileWebBlocksImagesAndScripts() {
+        check("MWEB");
+    }
+}
@@ -0,0 +1,144 @@
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class PerfHistoryTest {
+    private Path dir;
+
+    @BeforeMethod
+    public void tempDir() throws Exception {
+        dir = Files.createTempDirectory("perf-history");
+    }
+
+    private PerfHistory history(int window) {
+        // Defaults: 5 samples, z >= 3.5, 30% and 500ms slower than the median
+        return new PerfHistory(dir, window, 5, 3.5, 0.3, 500);
+    }
+
+    private static ScenarioResult scenario(String label, long millis, boolean passed, Map<String, Long> steps) {
+        ScenarioResult result = new ScenarioResult(new Engine.TestConfig(label + ".json", label + ".txt", "WEB"));
+        result.durationMillis = millis;
+        result.passed = passed;
+        result.stepMillis.putAll(steps);
+        return result;
+    }
+
+    private static void runs(PerfHistory history, String label, long... millis) {
+        for (long m : millis) history.append(List.of(scenario(label, m, true, Map.of())), null);
+    }
+
+    // ==========================================
+    // 📈 BASELINES
+    // ==========================================
+    @Test
+    public void baselineNeedsMinSamples() {
+        PerfHistory history = history(20);
+        runs(history, "login", 1000, 1000, 1000, 1000);
+        assertFalse(history.baseline("login").isPresent());
+        runs(history, "login", 1000);
+        assertEquals(history.baseline("login").orElseThrow().samples(), 5);
+    }
+
+    @Test
+    public void baselineIsMedianP95AndMad() {
+        PerfHistory history = history(20);
+        runs(history, "login", 1300, 1000, 10000, 1200, 1100);
+        assertEquals(history.baseline("login").orElseThrow(), new PerfHistory.Baseline(1200, 10000, 100, 5));
+    }
+
+    @Test
+    public void baselineKeepsOnlyTheWindow() {
+        PerfHistory history = history(5);
+        runs(history, "login", 9000, 9000, 9000, 9000, 9000, 1000, 1000, 1000, 1000, 1000);
+        assertEquals(history.baseline("login").orElseThrow().median(), 1000);
+    }
+
+    @Test
+    public void failedScenariosBaselineOnlyTheirPassedSteps() {
+        PerfHistory history = history(20);
+        for (int i = 0; i < 5; i++) history.append(List.of(scenario("login", 50, false, Map.of("Open Browser", 400L))), null);
+        assertFalse(history.baseline("login").isPresent());
+        assertEquals(history.baseline("login\nOpen Browser").orElseThrow().median(), 400);
+    }
+
+    // ==========================================
+    // 🐢 REGRESSIONS
+    // ==========================================
+    @Test
+    public void regressionNeedsZScoreRatioAndDelta() {
+        PerfHistory history = history(20);
+        runs(history, "login", 1100, 1200, 1300, 1200, 1200, 1000, 1400);
+        PerfHistory.Baseline b = history.baseline("login").orElseThrow(); // median 1200, MAD 100
+        assertFalse(history.isRegression(1700, b), "z=3.4 is below the threshold");
+        assertTrue(history.isRegression(1800, b));
+
+        runs(history, "search", 10000, 10100, 9900, 10000, 10200, 9800);
+        PerfHistory.Baseline slow = history.baseline("search").orElseThrow(); // median 10000, MAD 100
+        assertFalse(history.isRegression(12000, slow), "20% slower is under perf.minRatio");
+        assertTrue(history.isRegression(13000, slow));
+    }
+
+    @Test
+    public void flatBaselineStillNeedsTheMinimumDelta() {
+        PerfHistory history = history(20);
+        runs(history, "login", 100, 100, 100, 100, 100);
+        PerfHistory.Baseline b = history.baseline("login").orElseThrow();
+        assertEquals(PerfHistory.zScore(101, b), Double.POSITIVE_INFINITY);
+        assertEquals(PerfHistory.zScore(100, b), 0.0);
+        assertFalse(history.isRegression(400, b));
+        assertTrue(history.isRegression(700, b));
+    }
+
+    @Test
+    public void regressionsListScenarioThenSlowestStep() {
+        PerfHistory history = history(20);
+        for (int i = 0; i < 5; i++) {
+            history.append(List.of(scenario("login", 3000, true, Map.of("Open Browser", 1000L, "Tap on Login", 1000L))), 4000L);
+        }
+        ScenarioResult slow = scenario("login", 6000, true, Map.of("Open Browser", 1000L, "Tap on Login", 4000L));
+        List<String> found = history.regressions(slow);
+        assertEquals(found.size(), 2, found.toString());
+        assertTrue(found.get(0).startsWith("🐢 total 6.0s vs median 3.0s"), found.get(0));
+        assertTrue(found.get(1).startsWith("🐢 [Tap on Login] 4.0s vs median 1.0s"), found.get(1));
+        assertTrue(history.runRegression(9000).isPresent());
+        assertFalse(history.runRegression(4100).isPresent());
+    }
+
+    // ==========================================
+    // 🗜️ FILE
+    // ==========================================
+    @Test
+    public void reloadedHistoryHasTheSameBaselines() {
+        PerfHistory history = history(20);
+        runs(history, "login", 1300, 1000, 10000, 1200, 1100);
+        assertEquals(history(20).baseline("login"), history.baseline("login"));
+    }
+
+    @Test
+    public void historyIsCompactedWellPastTheWindow() throws Exception {
+        PerfHistory history = history(5);
+        for (int i = 0; i < 40; i++) {
+            history.append(List.of(
+                    scenario("login", 1000 + i, true, Map.of("Open Browser", 100L + i)),
+                    scenario("search", 2000 + i, i % 2 == 0, Map.of("Type x in Search_Box", 200L + i))), 5000L + i);
+        }
+        // 3 lines per append, compacted once past 2 * window * (1 + 2 scenarios) = 30 lines; 120 were written
+        long lines = Files.readAllLines(dir.resolve(PerfHistory.FILE_NAME), StandardCharsets.UTF_8).size();
+        assertTrue(lines <= 32, lines + " lines");
+
+        PerfHistory reloaded = history(5);
+        for (String key : List.of(PerfHistory.RUN_KEY, "login", "search", "login\nOpen Browser", "search\nType x in Search_Box")) {
+            assertEquals(reloaded.baseline(key), history.baseline(key), key);
+        }
+        assertEquals(history.baseline("search").orElseThrow().median(), 2034); // passed appends 30, 32, ..., 38
+    }
+}
@@ -0,0 +1,179 @@
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class ReplayDriverTest {
+    private static final String HOME = "<AppiumAUT><XCUIElementTypeApplication name=\"Justdial\">"
+            + "<XCUIElementTypeButton name=\"Profile\" label=\"Profile\" visible=\"true\" x=\"312\" y=\"780\" width=\"78\" height=\"49\"/>"
+            + "<XCUIElementTypeStaticText name=\"Banner\" label=\"Sale\" visible=\"false\"/>"
+            + "</XCUIElementTypeApplication></AppiumAUT>";
+    private static final String LOGIN = "<hierarchy>"
+            + "<android.widget.EditText resource-id=\"com.justdial.search:id/mobile\" text=\"\" displayed=\"true\"/>"
+            + "<android.widget.Button content-desc=\"Login with OTP\" text=\"Login with OTP\" enabled=\"false\"/>"
+            + "</hierarchy>";
+
+    private static ReplayDriver driver(String... screens) {
+        return new ReplayDriver("test", List.of(screens), 0, 0);
+    }
+
+    // ==========================================
+    // 🔎 LOCATOR TRANSLATION
+    // ==========================================
+    @Test
+    public void xpathLocatorsPassThrough() {
+        By by = By.xpath("//XCUIElementTypeButton[@name='Profile']");
+        assertEquals(ReplayDriver.toXPath(by), by);
+    }
+
+    @Test
+    public void idMatchesHtmlIdResourceIdAndName() {
+        assertEquals(ReplayDriver.toXPath(By.id("mobile")), By.xpath("//*[@id='mobile' or @resource-id='mobile'"
+                + " or substring-after(@resource-id, ':id/')='mobile' or @name='mobile']"));
+        assertEquals(driver(LOGIN).findElements(ActionLibrary.getLocator("id=mobile")).size(), 1);
+        assertEquals(driver(HOME).findElements(ActionLibrary.getLocator("id=Profile")).size(), 1);
+    }
+
+    @Test
+    public void nameAndAccessibilityIdLocators() {
+        assertEquals(ReplayDriver.toXPath(By.name("Profile")), By.xpath("//*[@name='Profile']"));
+        assertEquals(ReplayDriver.toXPath(AppiumBy.accessibilityId("Login with OTP")),
+                By.xpath("//*[@content-desc='Login with OTP' or @name='Login with OTP' or @accessibility-id='Login with OTP']"));
+        assertEquals(driver(LOGIN).findElement(ActionLibrary.getLocator("accessId=Login with OTP")).getText(), "Login with OTP");
+        assertEquals(driver(HOME).findElement(ActionLibrary.getLocator("accessId=Profile")).getText(), "Profile");
+    }
+
+    @Test
+    public void literalsQuoteEitherWayOrConcat() {
+        assertEquals(ReplayDriver.literal("Profile"), "'Profile'");
+        assertEquals(ReplayDriver.literal("Rahul's"), "\"Rahul's\"");
+        assertEquals(ReplayDriver.literal("say \"it's\""), "concat('say \"it', \"'\", 's\"')");
+        String tricky = "<r><n name=\"say &quot;it's&quot;\"/></r>";
+        assertEquals(driver(tricky).findElements(By.name("say \"it's\"")).size(), 1);
+    }
+
+    @Test
+    public void otherLocatorsAreRejected() {
+        expectThrows(InvalidSelectorException.class, () -> ReplayDriver.toXPath(By.cssSelector("#mobile")));
+        expectThrows(InvalidSelectorException.class, () -> driver(HOME).findElement(By.className("XCUIElementTypeButton")));
+        expectThrows(InvalidSelectorException.class, () -> driver(HOME).findElements(By.xpath("//*[")));
+    }
+
+    // ==========================================
+    // 🖥️ SCREENS AND ELEMENTS
+    // ==========================================
+    @Test
+    public void clicksAdvanceAndOldElementsGoStale() {
+        ReplayDriver driver = driver(HOME, LOGIN);
+        WebElement profile = driver.findElement(By.name("Profile"));
+        profile.click();
+        expectThrows(StaleElementReferenceException.class, profile::getText);
+        expectThrows(NoSuchElementException.class, () -> driver.findElement(By.name("Profile")));
+        WebElement mobile = driver.findElement(By.id("mobile"));
+        mobile.sendKeys("99", "87");
+        assertEquals(mobile.getAttribute("text"), "");
+        assertEquals(mobile.getAttribute("value"), "9987");
+        // The last screen stays up
+        driver.findElement(By.id("mobile")).click();
+        assertEquals(driver.getPageSource(), LOGIN);
+    }
+
+    @Test
+    public void navigateShowsFirstScreenThenAdvances() {
+        ReplayDriver driver = driver(HOME, LOGIN);
+        driver.get("https://www.justdial.com/");
+        assertEquals(driver.getPageSource(), HOME);
+        driver.get("https://www.justdial.com/login");
+        assertEquals(driver.getPageSource(), LOGIN);
+        assertEquals(driver.getCurrentUrl(), "https://www.justdial.com/login");
+    }
+
+    @Test
+    public void navigationGoesThroughTheRecording() throws Exception {
+        ReplayDriver driver = driver(HOME, LOGIN, HOME);
+        driver.navigate().to("https://www.justdial.com/");
+        assertEquals(driver.getPageSource(), HOME);
+        driver.navigate().to(new URL("https://www.justdial.com/login"));
+        assertEquals(driver.getPageSource(), LOGIN);
+        assertEquals(driver.getCurrentUrl(), "https://www.justdial.com/login");
+
+        // Refresh keeps the screen but forgets typed text and invalidates old elements
+        WebElement mobile = driver.findElement(By.id("mobile"));
+        mobile.sendKeys("99");
+        driver.navigate().refresh();
+        assertEquals(driver.getPageSource(), LOGIN);
+        expectThrows(StaleElementReferenceException.class, mobile::getText);
+        assertNull(driver.findElement(By.id("mobile")).getAttribute("value"));
+
+        driver.navigate().back();
+        assertEquals(driver.getPageSource(), HOME);
+    }
+
+    @Test
+    public void switchToKnowsTheOneWindow() {
+        ReplayDriver driver = driver(LOGIN.replace("displayed=\"true\"", "displayed=\"true\" focused=\"true\""), HOME);
+        assertSame(driver.switchTo().defaultContent(), driver);
+        assertSame(driver.switchTo().window(driver.getWindowHandle()), driver);
+        assertEquals(driver.switchTo().activeElement().getAttribute("resource-id"), "com.justdial.search:id/mobile");
+        driver.findElement(By.id("mobile")).click();
+        assertEquals(driver.switchTo().activeElement().getTagName(), "AppiumAUT", "nothing focused: the screen root");
+        expectThrows(NoSuchWindowException.class, () -> driver.switchTo().window("other"));
+        expectThrows(NoSuchFrameException.class, () -> driver.switchTo().frame(0));
+        expectThrows(NoAlertPresentException.class, () -> driver.switchTo().alert());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void optionsRememberTimeoutsAndWindow() {
+        ReplayDriver driver = driver(HOME);
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3));
+        assertEquals(driver.manage().timeouts().getImplicitWaitTimeout(), Duration.ofSeconds(3));
+        driver.manage().timeouts().pageLoadTimeout(2, TimeUnit.SECONDS);
+        assertEquals(driver.manage().timeouts().getPageLoadTimeout(), Duration.ofSeconds(2));
+        driver.manage().window().maximize();
+        driver.manage().window().setSize(new Dimension(390, 844));
+        assertEquals(driver.manage().window().getSize().getWidth(), 390);
+        assertTrue(driver.manage().logs().getAvailableLogTypes().isEmpty());
+        assertTrue(driver.manage().logs().get("driver").getAll().isEmpty());
+    }
+
+    @Test
+    public void elementStateComesFromAttributes() {
+        WebElement profile = driver(HOME).findElement(By.name("Profile"));
+        assertTrue(profile.isDisplayed());
+        assertTrue(profile.isEnabled());
+        assertEquals(profile.getRect().getWidth(), 78);
+        assertEquals(profile.getRect().getY(), 780);
+        assertFalse(driver(HOME).findElement(By.name("Banner")).isDisplayed());
+        assertFalse(driver(LOGIN).findElement(AppiumBy.accessibilityId("Login with OTP")).isEnabled());
+    }
+
+    @Test
+    public void bundledRecordingLoads() throws Exception {
+        List<String> screens = ReplayDriver.load(Paths.get("replay", "ios_login"));
+        assertEquals(screens.size(), 4);
+        assertEquals(new ReplayDriver("ios_login", screens, 0, 0).findElements(By.name("Profile")).size(), 1);
+        expectThrows(Exception.class, () -> ReplayDriver.load(Paths.get("replay", "no_such_scenario")));
+        expectThrows(IllegalArgumentException.class, () -> driver());
+    }
+}
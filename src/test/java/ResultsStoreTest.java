@@ -0,0 +1,54 @@
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+
+public class ResultsStoreTest {
+    private static ScenarioResult passed(String label, long millis) {
+        ScenarioResult result = new ScenarioResult(new Engine.TestConfig(label + ".json", label + ".txt", "WEB"));
+        result.durationMillis = millis;
+        result.passed = true;
+        return result;
+    }
+
+    @Test
+    public void concurrentRecordsKeepEverySample() throws Exception {
+        Path dir = Files.createTempDirectory("results");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            // Like daemon handler threads: a fresh store per finished scenario
+            for (int i = 0; i < 40; i++) {
+                String label = "scenario" + (i % 4);
+                long millis = 1000 + i;
+                writes.add(pool.submit(() -> new ResultsStore(dir, 100).record(List.of(passed(label, millis)))));
+            }
+            for (Future<?> write : writes) write.get();
+        } finally {
+            pool.shutdown();
+        }
+        ResultsStore store = new ResultsStore(dir, 100);
+        assertEquals(store.load().values().stream().mapToInt(List::size).sum(), 40);
+        try (var files = Files.list(dir)) {
+            assertEquals(files.map(f -> f.getFileName().toString()).toList(), List.of("durations.json"), "no temp files left behind");
+        }
+    }
+
+    @Test
+    public void historyKeepsTheNewestPassingRuns() throws Exception {
+        ResultsStore store = new ResultsStore(Files.createTempDirectory("results"), 3);
+        for (long millis = 1; millis <= 5; millis++) store.record(List.of(passed("login", millis)));
+        ScenarioResult failed = passed("login", 99);
+        failed.passed = false;
+        store.record(List.of(failed));
+        assertEquals(store.load().get("login"), List.of(3L, 4L, 5L));
+        assertEquals(store.medians().get("login"), 4L);
+    }
+}
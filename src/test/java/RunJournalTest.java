@@ -0,0 +1,53 @@
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+public class RunJournalTest {
+    private static final List<Engine.TestConfig> SUITE = List.of(
+            new Engine.TestConfig("login.json", "login.txt", "WEB"),
+            new Engine.TestConfig("mweb_login.json", "mweb_login.txt", "MWEB"));
+
+    private Path dir;
+
+    @BeforeMethod
+    public void tempDir() throws Exception {
+        dir = Files.createTempDirectory("run-state");
+    }
+
+    private void run(boolean rerun, boolean partial, String label, boolean passed) throws Exception {
+        try (RunJournal journal = RunJournal.open(dir, rerun, partial)) {
+            ScenarioResult result = new ScenarioResult(SUITE.stream().filter(c -> c.label.equals(label)).findFirst().orElseThrow());
+            result.passed = passed;
+            journal.scenarioFinished(result);
+        }
+    }
+
+    private List<String> rerunSelection() throws Exception {
+        try (RunJournal journal = RunJournal.open(dir, true, false)) {
+            return journal.notYetPassed(SUITE).stream().map(c -> c.label).toList();
+        }
+    }
+
+    @Test
+    public void fullRunStartsTheJournalOver() throws Exception {
+        run(false, false, "login", true);
+        run(false, false, "mweb_login", true);
+        assertEquals(rerunSelection(), List.of("login"));
+    }
+
+    @Test
+    public void partialRunKeepsTheRestOfTheSuite() throws Exception {
+        run(false, false, "login", true);
+        run(true, false, "mweb_login", false);
+        // A --scenario run of the failed one must not forget that login passed
+        run(false, true, "mweb_login", false);
+        assertEquals(rerunSelection(), List.of("mweb_login"));
+        run(false, true, "mweb_login", true);
+        assertEquals(rerunSelection(), List.of());
+    }
+}
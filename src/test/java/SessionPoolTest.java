@@ -0,0 +1,123 @@
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class SessionPoolTest {
+    private StubDriverServer stub;
+
+    @BeforeMethod
+    public void startStub() throws Exception {
+        stub = new StubDriverServer();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStub() {
+        stub.close();
+    }
+
+    private MutableCapabilities webCaps() {
+        MutableCapabilities caps = new MutableCapabilities();
+        caps.setCapability("browserName", "chrome");
+        return caps;
+    }
+
+    private WebDriver acquireWeb(SessionPool pool) throws Exception {
+        MutableCapabilities caps = webCaps();
+        return pool.acquire("WEB", caps, () -> new RemoteWebDriver(stub.url(), caps));
+    }
+
+    @Test
+    public void releasedWebSessionIsResetAndReused() throws Exception {
+        try (SessionPool pool = new SessionPool(60_000)) {
+            WebDriver first = acquireWeb(pool);
+            pool.release(first);
+
+            assertEquals(stub.count("DELETE /session/s1/cookie"), 1);
+            assertEquals(stub.count("POST /session/s1/url"), 1);
+            assertTrue(stub.scripts.stream().anyMatch(s -> s.contains("localStorage.clear()")));
+
+            WebDriver second = acquireWeb(pool);
+            assertSame(second, first);
+            assertEquals(stub.sessionsCreated.get(), 1);
+            assertEquals(stub.count("GET /session/s1/timeouts"), 1, "health check before reuse");
+        }
+    }
+
+    @Test
+    public void unhealthySessionIsEvictedAndReplaced() throws Exception {
+        try (SessionPool pool = new SessionPool(60_000)) {
+            WebDriver first = acquireWeb(pool);
+            pool.release(first);
+            stub.kill("s1");
+
+            WebDriver second = acquireWeb(pool);
+            assertNotSame(second, first);
+            assertEquals(stub.sessionsCreated.get(), 2);
+            assertEquals(stub.count("DELETE /session/s1"), 1, "dead session is still quit");
+        }
+    }
+
+    @Test
+    public void failedResetEvictsInsteadOfPooling() throws Exception {
+        try (SessionPool pool = new SessionPool(60_000)) {
+            stub.failCommand("/window/handles");
+            WebDriver first = acquireWeb(pool);
+            pool.release(first);
+            assertEquals(stub.count("DELETE /session/s1"), 1);
+
+            acquireWeb(pool);
+            assertEquals(stub.sessionsCreated.get(), 2);
+        }
+    }
+
+    @Test
+    public void idleSessionsAreReaped() throws Exception {
+        try (SessionPool pool = new SessionPool(200)) {
+            pool.release(acquireWeb(pool));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (stub.count("DELETE /session/s1") == 0 && System.currentTimeMillis() < deadline) Thread.sleep(100);
+            assertEquals(stub.count("DELETE /session/s1"), 1);
+
+            acquireWeb(pool);
+            assertEquals(stub.sessionsCreated.get(), 2);
+        }
+    }
+
+    @Test
+    public void closeQuitsIdleAndLeasedSessions() throws Exception {
+        SessionPool pool = new SessionPool(60_000);
+        pool.release(acquireWeb(pool));
+        acquireWeb(pool); // reuses s1
+        acquireWeb(pool); // s2
+        pool.close();
+        assertEquals(stub.count("DELETE /session/s1"), 1);
+        assertEquals(stub.count("DELETE /session/s2"), 1);
+    }
+
+    @Test
+    public void emulatorSessionIsResetByClearingTheApp() throws Exception {
+        UiAutomator2Options options = new UiAutomator2Options();
+        options.setPlatformName("Android");
+        options.setAppPackage("com.justdial.search");
+        options.setNoReset(false);
+        try (SessionPool pool = new SessionPool(60_000)) {
+            WebDriver first = pool.acquire("ANDROID_EMULATOR", options, () -> new AndroidDriver(stub.url(), options));
+            pool.release(first);
+
+            assertTrue(stub.scripts.contains("mobile: clearApp"), "app data cleared: " + stub.scripts);
+            assertEquals(stub.count("POST /session/s1/url"), 0, "no web reset on a native session");
+            assertSame(pool.acquire("ANDROID_EMULATOR", options, () -> new AndroidDriver(stub.url(), options)), first);
+            assertEquals(stub.sessionsCreated.get(), 1);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SlackNotifierTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private HttpServer server;
+    // Status codes to answer with, in order; 200 once they run out
+    private final ConcurrentLinkedQueue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @BeforeMethod
+    public void startStub() throws Exception {
+        statuses.clear();
+        received.clear();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hook", exchange -> {
+            try (exchange) {
+                received.add(MAPPER.readTree(exchange.getRequestBody().readAllBytes()).path("text").asText());
+                Integer status = statuses.poll();
+                int code = status == null ? 200 : status;
+                if (code == 429) exchange.getResponseHeaders().set("Retry-After", "0");
+                byte[] body = (code == 200 ? "ok" : "nope").getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(code, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStub() {
+        server.stop(0);
+    }
+
+    private SlackNotifier notifier(int bufferSize, int maxAttempts) {
+        return new SlackNotifier("http://127.0.0.1:" + server.getAddress().getPort() + "/hook", bufferSize, maxAttempts);
+    }
+
+    private static boolean flush(SlackNotifier slack, String header) throws Exception {
+        return slack.flush(header).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void linesAreSentAsOneDigestUnderTheHeader() throws Exception {
+        SlackNotifier slack = notifier(16, 3);
+        slack.post("✅ PASSED: login");
+        slack.post("🚨 FAILED: search");
+        assertTrue(flush(slack, "🤖 Daily Automation Run: 1/2 passed"));
+        assertEquals(received, List.of("🤖 Daily Automation Run: 1/2 passed\n✅ PASSED: login\n🚨 FAILED: search"));
+    }
+
+    @Test
+    public void emptyDigestSendsNothing() throws Exception {
+        assertTrue(flush(notifier(16, 3), "header"));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void rateLimitIsRetriedHonouringRetryAfter() throws Exception {
+        statuses.add(429);
+        statuses.add(429);
+        SlackNotifier slack = notifier(16, 3);
+        slack.post("line");
+        long start = System.nanoTime();
+        assertTrue(flush(slack, "h"));
+        assertEquals(received.size(), 3);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Retry-After: 0 must not fall back to the backoff");
+    }
+
+    @Test
+    public void serverErrorIsRetriedWithBackoff() throws Exception {
+        statuses.add(503);
+        SlackNotifier slack = notifier(16, 3);
+        slack.post("line");
+        assertTrue(flush(slack, "h"));
+        assertEquals(received.size(), 2);
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() throws Exception {
+        statuses.add(500);
+        statuses.add(502);
+        statuses.add(503);
+        SlackNotifier slack = notifier(16, 2);
+        slack.post("line");
+        assertFalse(flush(slack, "h"));
+        assertEquals(received.size(), 2);
+    }
+
+    @Test
+    public void clientErrorIsNotRetried() throws Exception {
+        statuses.add(400);
+        SlackNotifier slack = notifier(16, 3);
+        slack.post("line");
+        assertFalse(flush(slack, "h"));
+        assertEquals(received.size(), 1);
+    }
+
+    @Test
+    public void overflowIsCountedNotBlocked() throws Exception {
+        SlackNotifier slack = notifier(4, 1);
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) slack.post("line " + i);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "post() must never block");
+        assertTrue(flush(slack, "h"));
+
+        String text = received.get(0);
+        long kept = text.lines().filter(l -> l.startsWith("line ")).count();
+        Matcher dropped = Pattern.compile("… (\\d+) more message\\(s\\) dropped").matcher(text);
+        assertTrue(dropped.find(), text);
+        assertTrue(kept <= 200, "digest is capped");
+        assertEquals(kept + Long.parseLong(dropped.group(1)), 1000);
+    }
+
+    @Test
+    public void shutdownDeliversPendingLines() throws Exception {
+        SlackNotifier slack = notifier(16, 3);
+        slack.post("✅ PASSED: login");
+        slack.shutdown("final", Duration.ofSeconds(30));
+        assertEquals(received, List.of("final\n✅ PASSED: login"));
+    }
+}
@@ -0,0 +1,113 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal W3C WebDriver endpoint on loopback: creates sessions, answers every session command with a
+ * plausible value and records "METHOD path" of each request. Sessions can be killed (404 invalid session id)
+ * and commands made to fail, to drive the pool's health-check and reset paths.
+ */
+final class StubDriverServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    final List<String> requests = new CopyOnWriteArrayList<>();
+    final List<String> scripts = new CopyOnWriteArrayList<>();
+    final AtomicInteger sessionsCreated = new AtomicInteger();
+    private final Set<String> dead = ConcurrentHashMap.newKeySet();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+    private final HttpServer server;
+
+    StubDriverServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URL url() throws Exception {
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    /** Every later command on the session answers 404 invalid session id. */
+    void kill(String sessionId) { dead.add(sessionId); }
+
+    /** Commands whose path ends with the suffix answer 500 unknown error. */
+    void failCommand(String pathSuffix) { failing.add(pathSuffix); }
+
+    long count(String request) {
+        return requests.stream().filter(request::equals).count();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            requests.add(method + " " + path);
+
+            if (method.equals("POST") && path.equals("/session")) {
+                String id = "s" + sessionsCreated.incrementAndGet();
+                JsonNode requested = MAPPER.readTree(body).path("capabilities").path("alwaysMatch");
+                ObjectNode value = MAPPER.createObjectNode().put("sessionId", id);
+                value.set("capabilities", requested.isObject() ? requested : MAPPER.createObjectNode());
+                respond(exchange, 200, value);
+                return;
+            }
+
+            String[] parts = path.split("/");
+            String id = parts.length > 2 ? parts[2] : "";
+            if (dead.contains(id)) {
+                respond(exchange, 404, error("invalid session id", "session " + id + " is gone"));
+                return;
+            }
+            if (failing.stream().anyMatch(path::endsWith)) {
+                respond(exchange, 500, error("unknown error", "stub failure for " + path));
+                return;
+            }
+            if (path.endsWith("/execute/sync")) scripts.add(MAPPER.readTree(body).path("script").asText());
+
+            if (path.endsWith("/timeouts")) {
+                respond(exchange, 200, MAPPER.createObjectNode().put("implicit", 0).put("pageLoad", 300000).put("script", 30000));
+            } else if (path.endsWith("/window/handles")) {
+                respond(exchange, 200, MAPPER.createArrayNode().add("w1"));
+            } else if (method.equals("DELETE") && parts.length == 3) {
+                dead.add(id);
+                respond(exchange, 200, null);
+            } else if (path.endsWith("/terminate_app") || path.endsWith("/execute/sync")) {
+                respond(exchange, 200, MAPPER.getNodeFactory().booleanNode(true));
+            } else {
+                respond(exchange, 200, null);
+            }
+        }
+    }
+
+    private static ObjectNode error(String error, String message) {
+        return MAPPER.createObjectNode().put("error", error).put("message", message).put("stacktrace", "");
+    }
+
+    private static void respond(HttpExchange exchange, int status, JsonNode value) throws IOException {
+        ObjectNode envelope = MAPPER.createObjectNode();
+        envelope.set("value", value == null ? MAPPER.nullNode() : value);
+        byte[] bytes = envelope.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,2 @@
+// Stands in for a third-party script; web.fast.blockUrls should keep it from loading
+document.addEventListener('DOMContentLoaded', () => mark('script-loaded'));